@@ -0,0 +1,87 @@
+package blackjack;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares two JMH result files written with -rf json, usually the stored
+ * baseline and the latest run, and prints the change of every benchmark.
+ * <p/>
+ * Only the few fields needed are read from the JSON, so no JSON library is
+ * required.
+ */
+
+public class BaselineComparison {
+
+    private static final Pattern BENCHMARK = Pattern.compile("\"benchmark\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final Pattern PARAMS = Pattern.compile("\"params\"\\s*:\\s*\\{([^}]*)\\}");
+
+    private static final Pattern SCORE = Pattern.compile("\"primaryMetric\"\\s*:\\s*\\{\\s*\"score\"\\s*:\\s*([-+0-9.eE]+|\"NaN\")");
+
+    private static final Pattern UNIT = Pattern.compile("\"scoreUnit\"\\s*:\\s*\"([^\"]+)\"");
+
+    /**
+     * @param args baseline file and current file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: BaselineComparison <baseline.json> <current.json>");
+            return;
+        }
+        Map<String, Double> baseline = read(args[0], null);
+        Map<String, String> units = new LinkedHashMap<String, String>();
+        Map<String, Double> current = read(args[1], units);
+
+        System.out.println(String.format("%-70s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            String unit = units.get(entry.getKey());
+            if (before == null) {
+                System.out.println(String.format("%-70s %14s %14.3f %9s %s", entry.getKey(), "-", entry.getValue(), "new", unit));
+            } else {
+                double change = (entry.getValue() - before) / before * 100;
+                System.out.println(String.format("%-70s %14.3f %14.3f %+8.1f%% %s", entry.getKey(), before, entry.getValue(), change, unit));
+            }
+        }
+    }
+
+    /**
+     * Read the score of every benchmark. A benchmark is identified by its
+     * name followed by its parameters.
+     */
+    static Map<String, Double> read(String file, Map<String, String> units) throws IOException {
+        String json = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        Map<String, Double> scores = new LinkedHashMap<String, Double>();
+
+        // Every result of the array starts with the jmhVersion field
+        String[] results = json.split("\"jmhVersion\"");
+        for (int i = 1; i < results.length; i++) {
+            String result = results[i];
+            Matcher benchmark = BENCHMARK.matcher(result);
+            Matcher score = SCORE.matcher(result);
+            if (!benchmark.find() || !score.find()) {
+                continue;
+            }
+            String name = benchmark.group(1);
+            Matcher params = PARAMS.matcher(result);
+            if (params.find() && params.start() < score.start()) {
+                name += " {" + params.group(1).replaceAll("[\\s\"]", "") + "}";
+            }
+            String value = score.group(1);
+            scores.put(name, value.startsWith("\"") ? Double.NaN : Double.parseDouble(value));
+
+            Matcher unit = UNIT.matcher(result);
+            if (units != null && unit.find()) {
+                units.put(name, unit.group(1));
+            }
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,72 @@
+package blackjack;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of settling a batch of hands with the scalar loop of
+ * BatchHandEvaluator against the VectorHandEvaluator. The hands are random
+ * so the branches of the scalar loop are as hard to predict as in a
+ * simulation.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BatchEvaluatorBenchmark {
+
+    private static final int HANDS = 4096;
+
+    @Param({"false", "true"})
+    private boolean vector;
+
+    @Param({"1:1", "3:2"})
+    private String payout;
+
+    private HandBatch batch;
+
+    private BatchHandEvaluator evaluator;
+
+    @Setup
+    public void setUp() {
+        Rules rules = new Rules();
+        rules.setBlackJackPayout(Integer.parseInt(payout.substring(0, payout.indexOf(':'))),
+                Integer.parseInt(payout.substring(payout.indexOf(':') + 1)));
+        evaluator = vector ? BatchHandEvaluator.create(rules) : new BatchHandEvaluator(rules);
+        if (evaluator.isVectorized() != vector) {
+            throw new IllegalStateException("Vector API not available");
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        batch = new HandBatch(HANDS);
+        for (int i = 0; i < HANDS; i++) {
+            boolean blackJack = random.nextInt(21) == 0;
+            int flag = (blackJack ? HandBatch.BLACKJACK : 0) | (random.nextInt(40) == 0 ? HandBatch.SURRENDERED : 0);
+            boolean dealerBlackJack = random.nextInt(21) == 0;
+            batch.add(blackJack ? 21 : 12 + random.nextInt(14), flag,
+                    dealerBlackJack ? 21 : 17 + random.nextInt(9), dealerBlackJack ? HandBatch.BLACKJACK : 0,
+                    10 * (1 + random.nextInt(8)));
+        }
+    }
+
+    @Benchmark
+    public int evaluate() {
+        evaluator.evaluate(batch);
+        return batch.getChipDelta(HANDS - 1);
+    }
+}
@@ -0,0 +1,112 @@
+package blackjack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of creating, shuffling and dealing the cards.
+ * <p/>
+ * The legacy benchmarks reproduce the original list based deck i.e.
+ * BlackJack.getNewDeck followed by Collections.shuffle and dealing with
+ * deck.remove(0), so the Shoe can be compared against it.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    @Param({"1", "6", "8"})
+    private int decks;
+
+    /**
+     * Generator of the shoe's shuffles
+     */
+    @Param({"SPLIT_MIX", "XOSHIRO", "L64X"})
+    private ShuffleEngine.Algorithm algorithm;
+
+    private Random random;
+
+    private ArrayList<Card> deck;
+
+    private Shoe shoe;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        deck = new ArrayList<Card>();
+        shoe = new Shoe(decks, 100, ShuffleEngine.create(algorithm, 42));
+        shoe.shuffle();
+    }
+
+    /**
+     * Same as the original BlackJack.getNewDeck for every deck in the shoe,
+     * except that the cards are the shared Card instances
+     */
+    private ArrayList<Card> getNewDeck() {
+        ArrayList<Card> d = new ArrayList<Card>();
+        for (int i = 0; i < decks; i++) {
+            for (Suit suit : Suit.values()) {
+                for (CardType cardType : CardType.values()) {
+                    d.add(Card.of(suit, cardType));
+                }
+            }
+        }
+        return d;
+    }
+
+    @Benchmark
+    public ArrayList<Card> legacyNewDeckAndShuffle() {
+        ArrayList<Card> d = getNewDeck();
+        Collections.shuffle(d, random);
+        return d;
+    }
+
+    /**
+     * Deal a single card with deck.remove(0). The deck is refilled and
+     * shuffled when empty, so the cost is spread over the cards.
+     */
+    @Benchmark
+    public Card legacyDealRemoveFirst() {
+        if (deck.isEmpty()) {
+            deck.addAll(getNewDeck());
+            Collections.shuffle(deck, random);
+        }
+        return deck.remove(0);
+    }
+
+    @Benchmark
+    public void shoeShuffle() {
+        shoe.shuffle();
+    }
+
+    /**
+     * Deal a single card from the shoe. The shoe is shuffled when empty,
+     * so the cost is spread over the cards.
+     */
+    @Benchmark
+    public Card shoeDeal() {
+        if (shoe.remaining() == 0) {
+            shoe.endRound();
+            shoe.shuffle();
+        }
+        return shoe.deal();
+    }
+}
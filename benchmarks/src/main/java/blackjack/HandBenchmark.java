@@ -0,0 +1,93 @@
+package blackjack;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the operations done on every card of every hand i.e.
+ * valuing a hand, checking for a split and comparing cards.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandBenchmark {
+
+    /**
+     * Soft hand which turns hard i.e. ACE, SIX, NINE
+     */
+    private PlayerHand hand;
+
+    /**
+     * Pair of eights
+     */
+    private PlayerHand pair;
+
+    private Card jack;
+
+    private Card otherJack;
+
+    private Card queen;
+
+    @Setup
+    public void setUp() {
+        hand = new PlayerHand();
+        hand.addCard(Card.of(Suit.SPADES, CardType.ACE));
+        hand.addCard(Card.of(Suit.HEARTS, CardType.SIX));
+        hand.addCard(Card.of(Suit.CLUBS, CardType.NINE));
+
+        pair = new PlayerHand();
+        pair.addCard(Card.of(Suit.SPADES, CardType.EIGHT));
+        pair.addCard(Card.of(Suit.DIAMONDS, CardType.EIGHT));
+
+        jack = Card.of(Suit.SPADES, CardType.JACK);
+        otherJack = Card.of(Suit.HEARTS, CardType.JACK);
+        queen = Card.of(Suit.HEARTS, CardType.QUEEN);
+    }
+
+    @Benchmark
+    public int setHandValue() {
+        hand.setHandValue();
+        return hand.getHandValue();
+    }
+
+    /**
+     * Build a three card hand from scratch as it happens on every round
+     */
+    @Benchmark
+    public int buildHand() {
+        PlayerHand h = new PlayerHand();
+        h.addCard(jack);
+        h.addCard(queen);
+        h.addCard(otherJack);
+        return h.getHandValue();
+    }
+
+    @Benchmark
+    public boolean canSplit() {
+        return pair.canSplit();
+    }
+
+    @Benchmark
+    public boolean cardEqualsSameType() {
+        return jack.equals(otherJack);
+    }
+
+    @Benchmark
+    public boolean cardEqualsOtherType() {
+        return jack.equals(queen);
+    }
+}
@@ -0,0 +1,47 @@
+package blackjack;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of a complete headless round i.e. bet, deal, play, dealer
+ * hits, evaluation and reset of the hands and the shoe.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmark {
+
+    @Param({"1", "6", "8"})
+    private int decks;
+
+    private BlackJack table;
+
+    @Setup
+    public void setUp() {
+        Shoe shoe = decks == 1 ? new Shoe(new Random(42)) : new Shoe(decks, 75, new Random(42));
+        table = new BlackJack(Simulator.BANKROLL, new FlatBetStrategy(1), new MimicDealerStrategy(), shoe);
+    }
+
+    @Benchmark
+    public int playRound() {
+        table.getPlayer().setChips(Simulator.BANKROLL);
+        return table.playRound();
+    }
+}
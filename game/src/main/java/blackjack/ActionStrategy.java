@@ -0,0 +1,39 @@
+package blackjack;
+
+/**
+ * An ActionStrategy decides how a player hand is played i.e. whether to
+ * Hit, Stand, Split, Double or Surrender.
+ * <p/>
+ * The interactive game asks the user through ConsolePlayer while the
+ * headless engine plugs in an automatic strategy.
+ */
+
+public interface ActionStrategy {
+
+    /**
+     * A strategy may only return SPLIT if the hand can be split and the
+     * player has enough chips to match the bet of the hand, and DOUBLE or
+     * SURRENDER only if the table's rules allow them for the hand (see
+     * RuleTables) and for DOUBLE the player has the chips to match the bet.
+     *
+     * @param hand         the player hand that is being played
+     * @param dealerUpCard dealer's face up card
+     * @param chips        chips currently available to the player
+     * @return the option selected for the hand
+     */
+    HandOptions chooseOption(PlayerHand hand, Card dealerUpCard, int chips);
+
+    /**
+     * Asked for every spot when the rules offer insurance and the dealer
+     * shows an ACE. The insurance costs half the bet of the spot and pays
+     * 2 to 1 if the dealer has a BlackJack. Never taken unless a strategy
+     * says otherwise, as basic strategy does.
+     *
+     * @param hand  the player hand of the spot
+     * @param chips chips currently available to the player
+     * @return true to take the insurance
+     */
+    default boolean takeInsurance(PlayerHand hand, int chips) {
+        return false;
+    }
+}
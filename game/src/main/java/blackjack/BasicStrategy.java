@@ -0,0 +1,185 @@
+package blackjack;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * BasicStrategy is a built-in automatic player which plays every hand
+ * by the basic strategy chart.
+ * <p/>
+ * The chart is read once from the basic-strategy.txt resource into a
+ * single array of options for a dealer standing on soft 17 and one for a
+ * dealer hitting soft 17. A row of the array is a hard total, a soft
+ * total or a pair and a column is the dealer's face up card, so choosing
+ * an option is one array lookup.
+ * <p/>
+ * An entry holds the option to play and the option to play instead if the
+ * rules of the table don't allow it e.g. Double else Hit. Which options the
+ * rules allow is looked up in the compiled RuleTables.
+ */
+
+public class BasicStrategy implements ActionStrategy {
+
+    /**
+     * Chart resource, next to this class
+     */
+    static final String CHART = "basic-strategy.txt";
+
+    /**
+     * Dealer face up card values 2 to 11 (ACE)
+     */
+    private static final int COLUMNS = 10;
+
+    /**
+     * First row of each part of the table. Hard and soft rows are indexed
+     * by the hand value and pair rows by the value of one of the cards.
+     */
+    private static final int HARD = 0;
+
+    private static final int SOFT = 22;
+
+    private static final int PAIR = 44;
+
+    private static final int ROWS = PAIR + 12;
+
+    private static final HandOptions[] OPTIONS = HandOptions.values();
+
+    /**
+     * Bits of the option to play in an entry, the option to play instead
+     * are the bits above
+     */
+    private static final int OPTION_BITS = 4;
+
+    private static final int OPTION_MASK = (1 << OPTION_BITS) - 1;
+
+    /**
+     * Options to play for every row and dealer card, when the dealer stands
+     * on soft 17 and when the dealer hits soft 17
+     */
+    private static final byte[] S17_ACTIONS = load(false);
+
+    private static final byte[] H17_ACTIONS = load(true);
+
+    private final byte[] actions;
+
+    private final RuleTables rules;
+
+    /**
+     * Play by the default rules i.e. the rules of the interactive game
+     */
+    public BasicStrategy() {
+        this(new Rules());
+    }
+
+    /**
+     * @param rules rules of the table the strategy plays at
+     */
+    public BasicStrategy(Rules rules) {
+        this.actions = rules.isDealerHitsSoft17() ? H17_ACTIONS : S17_ACTIONS;
+        this.rules = new RuleTables(rules);
+    }
+
+    public HandOptions chooseOption(PlayerHand hand, Card dealerUpCard, int chips) {
+        int row;
+        if (hand.canSplit() && chips >= hand.getBet()) {
+            row = PAIR + hand.getCards().get(0).getCardType().getValue();
+        } else if (hand.isSoft()) {
+            row = SOFT + hand.getHandValue();
+        } else {
+            row = HARD + Math.max(hand.getHandValue(), 4);
+        }
+        int action = actions[row * COLUMNS + dealerUpCard.getCardType().getValue() - 2];
+        HandOptions option = OPTIONS[action & OPTION_MASK];
+        if ((option == HandOptions.DOUBLE && !(rules.allows(option, hand) && chips >= hand.getBet()))
+                || (option == HandOptions.SURRENDER && !rules.allows(option, hand))) {
+            option = OPTIONS[action >> OPTION_BITS];
+        }
+        return option;
+    }
+
+    /**
+     * Read the chart. Rows missing from the chart are set to Hit.
+     *
+     * @param hitSoft17 true to read the chart of a dealer hitting soft 17
+     *                  i.e. with the h17 rows in place of the rows they replace
+     * @return the table of options
+     */
+    static byte[] load(boolean hitSoft17) {
+        byte[] actions = new byte[ROWS * COLUMNS];
+        Arrays.fill(actions, action('H'));
+
+        InputStream in = BasicStrategy.class.getResourceAsStream(CHART);
+        if (in == null) {
+            throw new IllegalStateException("Missing basic strategy chart " + CHART);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                boolean h17Row = fields[0].equals("h17");
+                if (h17Row) {
+                    if (!hitSoft17) {
+                        continue;
+                    }
+                    fields = Arrays.copyOfRange(fields, 1, fields.length);
+                }
+                if (fields.length != 3 || fields[2].length() != COLUMNS) {
+                    throw new IllegalStateException("Invalid basic strategy row: " + line);
+                }
+                int row = Integer.parseInt(fields[1]);
+                if (fields[0].equals("hard")) {
+                    row += HARD;
+                } else if (fields[0].equals("soft")) {
+                    row += SOFT;
+                } else if (fields[0].equals("pair")) {
+                    row += PAIR;
+                } else {
+                    throw new IllegalStateException("Invalid basic strategy row: " + line);
+                }
+                for (int column = 0; column < COLUMNS; column++) {
+                    actions[row * COLUMNS + column] = action(fields[2].charAt(column));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read basic strategy chart " + CHART, e);
+        }
+        return actions;
+    }
+
+    /**
+     * @param code code of the option in the chart
+     * @return entry of the option and the option played instead
+     */
+    private static byte action(char code) {
+        switch (code) {
+            case 'H':
+                return action(HandOptions.HIT, HandOptions.HIT);
+            case 'S':
+                return action(HandOptions.STAND, HandOptions.STAND);
+            case 'P':
+                return action(HandOptions.SPLIT, HandOptions.SPLIT);
+            case 'D':
+                return action(HandOptions.DOUBLE, HandOptions.HIT);
+            case 'd':
+                return action(HandOptions.DOUBLE, HandOptions.STAND);
+            case 'R':
+                return action(HandOptions.SURRENDER, HandOptions.HIT);
+            case 'r':
+                return action(HandOptions.SURRENDER, HandOptions.STAND);
+            default:
+                throw new IllegalStateException("Invalid basic strategy option: " + code);
+        }
+    }
+
+    private static byte action(HandOptions option, HandOptions otherwise) {
+        return (byte) (option.ordinal() | otherwise.ordinal() << OPTION_BITS);
+    }
+}
@@ -0,0 +1,102 @@
+package blackjack;
+
+/**
+ * BatchHandEvaluator settles a whole HandBatch at once, e.g. the hands of
+ * many simulated rounds, with the same outcomes and payouts as
+ * BlackJack.evaluateHand but without printing or touching any ledger. The
+ * tables settle their own hands as they go, the evaluator settles the hands
+ * of a log again to audit it, see HandLogReader.audit.
+ * <p/>
+ * This class goes through the hands one by one. create returns a
+ * VectorHandEvaluator instead when the JVM runs with
+ * --add-modules jdk.incubator.vector, which classifies a vector of hands at
+ * a time with masks instead of the branches of evaluateHand. The vector
+ * class is only loaded by name, so the game runs without the incubator
+ * module.
+ */
+
+public class BatchHandEvaluator {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final String VECTOR_EVALUATOR = "blackjack.VectorHandEvaluator";
+
+    final RuleTables ruleTables;
+
+    /**
+     * A BlackJack pays blackJackWin to blackJackBet
+     */
+    final int blackJackWin;
+
+    final int blackJackBet;
+
+    /**
+     * @param rules rules of the settled hands, compiled when the evaluator is created
+     */
+    BatchHandEvaluator(Rules rules) {
+        ruleTables = new RuleTables(rules);
+        blackJackWin = rules.getBlackJackWin();
+        blackJackBet = rules.getBlackJackBet();
+    }
+
+    /**
+     * @param rules rules of the settled hands
+     * @return the vector evaluator if the Vector API is available, this
+     * scalar one otherwise
+     */
+    public static BatchHandEvaluator create(Rules rules) {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (BatchHandEvaluator) Class.forName(VECTOR_EVALUATOR)
+                        .getDeclaredConstructor(Rules.class).newInstance(rules);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Compiled without the module, use the scalar loop
+            }
+        }
+        return new BatchHandEvaluator(rules);
+    }
+
+    /**
+     * @return true if hands are evaluated a vector at a time
+     */
+    public boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Fill in the outcome and chip delta of every hand of the batch.
+     *
+     * @param batch hands to settle
+     */
+    public void evaluate(HandBatch batch) {
+        evaluate(batch, 0, batch.size);
+    }
+
+    /**
+     * Settle the hands from index from to index to, in the order of the
+     * checks of BlackJack.evaluateHand.
+     */
+    void evaluate(HandBatch batch, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int total = batch.totals[i];
+            int flags = batch.flags[i];
+            int dealerTotal = batch.dealerTotals[i];
+            boolean dealerBlackJack = (batch.dealerFlags[i] & HandBatch.BLACKJACK) != 0;
+            int outcome;
+            if ((flags & HandBatch.SURRENDERED) != 0) {
+                outcome = dealerBlackJack ? RuleTables.LOSS : RuleTables.SURRENDER;
+            } else if ((flags & HandBatch.BLACKJACK) != 0) {
+                outcome = dealerBlackJack ? RuleTables.PUSH
+                        : (flags & HandBatch.SPLIT) != 0 ? RuleTables.WIN : RuleTables.BLACKJACK;
+            } else if (total > 21) {
+                outcome = RuleTables.LOSS;
+            } else if (dealerTotal > 21 || total > dealerTotal) {
+                outcome = RuleTables.WIN;
+            } else {
+                outcome = dealerTotal > total ? RuleTables.LOSS : RuleTables.PUSH;
+            }
+            batch.outcomes[i] = outcome;
+            batch.chipDeltas[i] = ruleTables.payout(outcome, batch.bets[i]) - batch.bets[i];
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package blackjack;
+
+/**
+ * BetRamp is a counting player's bet strategy. The bet grows with the true
+ * count of the shoe: the ramp holds the number of units to bet for a true
+ * count of 0, 1, 2 and so on. Negative true counts bet the first step and
+ * true counts beyond the ramp bet the last one.
+ * <p/>
+ * For an unbalanced system like KO the running count is used instead of the
+ * true count.
+ */
+
+public class BetRamp implements BetStrategy {
+
+    private CountTracker tracker;
+
+    private int unit;
+
+    private int[] ramp;
+
+    /**
+     * @param tracker count of the table's shoe
+     * @param unit    chips in one unit
+     * @param ramp    units to bet by true count, starting at 0
+     */
+    public BetRamp(CountTracker tracker, int unit, int[] ramp) {
+        if (ramp.length == 0) {
+            throw new IllegalArgumentException("A bet ramp needs at least one step");
+        }
+        this.tracker = tracker;
+        this.unit = unit;
+        this.ramp = ramp.clone();
+    }
+
+    public int placeBet(int chips) {
+        double count = tracker.getSystem().isBalanced() ? tracker.getTrueCount() : tracker.getRunningCount();
+        int step = (int) Math.max(0, Math.min(ramp.length - 1, Math.floor(count)));
+        return Math.min(unit * ramp[step], chips);
+    }
+}
@@ -0,0 +1,17 @@
+package blackjack;
+
+/**
+ * A BetStrategy decides how many chips are placed on a new hand.
+ * <p/>
+ * The interactive game asks the user through ConsolePlayer while the
+ * headless engine plugs in an automatic strategy such as FlatBetStrategy.
+ */
+
+public interface BetStrategy {
+
+    /**
+     * @param chips chips currently available to the player
+     * @return the bet for the next hand, more than 0 and not more than chips
+     */
+    int placeBet(int chips);
+}
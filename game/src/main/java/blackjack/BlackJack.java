@@ -0,0 +1,1572 @@
+package blackjack;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class represents the BlackJack game. It performs all the game operations
+ * and hold all the instances required to play the game i.e.
+ * 1- Shuffled Deck
+ * 2- Seats with their Players
+ * 3- Dealer
+ * 4- Player Hands of every spot
+ * 5- Dealer Hand
+ * <p/>
+ * This class creates a deck of cards, shuffles it, gives user the options to
+ * place the bet and play (hit, stand, split) and takes appropriate actions.
+ * Moreover, it evaluates the hand as well.
+ * <p/>
+ * Note that:
+ * <p/>
+ * 1- The interactive game uses a single deck of cards while a headless game can
+ * be given a multi-deck Shoe. The cards are dealt from the Shoe. Once the cut card
+ * is reached (for a single deck if the available card count falls below 10),
+ * we shuffle the cards dealt in older hands back into the shoe.
+ * <p/>
+ * 2- Only following game features are implemented:
+ * <p/>
+ * - Multiple Seats, each playing one or more spots. The spots are dealt in casino
+ * order and the dealer plays a single hand against all of them. The interactive
+ * game has a single seat with a single spot.
+ * - Hit
+ * - Stand
+ * - Split: A pair can be split and split again up to the number of hands allowed
+ * by the table's Rules. The hands of a spot are played one after the other from
+ * a fixed size work-list, see split().
+ * - Double, Surrender and Insurance where the table's Rules allow them. The rules
+ * also decide whether the dealer hits a soft 17 and what a BlackJack pays. They are
+ * compiled into RuleTables once and looked up while the round is played. The
+ * interactive game plays the default rules i.e. Hit, Stand and Split only.
+ * <p/>
+ * 3- The bet and the hand options are taken from a BetStrategy and an
+ * ActionStrategy. The interactive game uses ConsolePlayer for both. A headless
+ * game plugs in automatic strategies and plays rounds through playRound
+ * without printing anything or keeping the recent hands.
+ */
+
+public class BlackJack {
+    /**
+     * Holds the shuffled cards and user deals the cards through this shoe.
+     * The cards that were dealt in the previous hands stay in the shoe
+     * until it is shuffled.
+     */
+    private Shoe shoe;
+
+    /**
+     * Shuffles of the shoe already counted into the metrics
+     */
+    private long countedShuffles;
+
+    /**
+     * Seats at the table in the order they are dealt
+     */
+    private ArrayList<Seat> seats = new ArrayList<Seat>();
+
+    /**
+     * Instance of player i.e. the player of the first seat
+     */
+    private Player player;
+
+    /**
+     * Number of recent hands kept by every player and the dealer
+     */
+    private int historySize;
+
+    /**
+     * Player hands of earlier rounds emptied for reuse, see newHand. Only
+     * filled when the histories keep no hands, which is the case for headless
+     * and server tables.
+     */
+    private PlayerHand[] handPool = new PlayerHand[0];
+
+    private int pooledHands;
+
+    /**
+     * Instance of dealer
+     */
+    private Dealer dealer;
+
+    /**
+     * House rules of the table e.g. how many hands a spot can be split into
+     */
+    private Rules rules = new Rules();
+
+    /**
+     * The rules compiled into lookup tables
+     */
+    private RuleTables ruleTables = new RuleTables(rules);
+
+    /**
+     * Player Hands of the spots in play in the order they are dealt, and the
+     * seat of every spot. The hands of spot i are kept next to each other from
+     * i * handsPerSpot on, handCounts[i] of them are in play. Only the first
+     * spotCount spots are in play, the arrays are kept from round to round.
+     */
+    private PlayerHand[] spotHands = new PlayerHand[1];
+
+    private int[] handCounts = new int[1];
+
+    private int handsPerSpot = 1;
+
+    private Seat[] spotSeats = new Seat[1];
+
+    private int spotCount;
+
+    /**
+     * Bets of the spots, kept from round to round
+     */
+    private int[] bets = new int[1];
+
+    /**
+     * Insurance bet on every spot in the current round
+     */
+    private int[] insurance = new int[1];
+
+    /**
+     * Dealer Hand
+     */
+    private DealerHand dealerHand;
+
+    /**
+     * Interactive player reading from the console. It is null for a headless game.
+     */
+    private ConsolePlayer console;
+
+    /**
+     * Decides where the game is printed to, if anywhere
+     */
+    private Renderer renderer;
+
+    /**
+     * Stream of the renderer
+     */
+    private PrintStream out;
+
+    /**
+     * Collects the outcome of every evaluated hand if set. Used by the Simulator.
+     */
+    private SimulationStats stats;
+
+    /**
+     * Computes the expected value of the hand options, created on first use
+     */
+    private ExpectedValueCalculator calculator;
+
+    /**
+     * Counts every card dealt from the shoe if set
+     */
+    private CountTracker tracker;
+
+    /**
+     * Appends every evaluated hand to a binary log if set
+     */
+    private HandLogWriter handLog;
+
+    /**
+     * Metrics this table counts into when metrics are on, see Metrics.ENABLED
+     */
+    private Metrics metrics = Metrics.GLOBAL;
+
+    /**
+     * Time the current round was dealt, only kept when metrics are on
+     */
+    private long roundStart;
+
+    /**
+     * Number of rounds played at this table
+     */
+    private long rounds;
+
+    /**
+     * Hand waiting for the player's option in the current round
+     */
+    private PlayerHand activeHand;
+
+    /**
+     * Chips won (positive) or lost (negative) by the players in the current round
+     */
+    private int roundChips;
+
+    /**
+     * Spot of the active hand, and its index among the hands of the spot
+     */
+    private int activeSpot;
+
+    private int activeIndex;
+
+    // Layout of a table snapshot, see snapshot()
+    private static final int SNAPSHOT_VERSION = 7;
+
+    private static final int SNAPSHOT_HEADER = 4 + 8 + 4 + 1 + 4 + 2 + 2 + 1;
+
+    private static final int SNAPSHOT_HAND = 4 + 1 + 1 + 2;
+
+    private static final int SNAPSHOT_SPLIT = 1;
+
+    private static final int SNAPSHOT_STAND = 2;
+
+    private static final int SNAPSHOT_SPLITTABLE = 4;
+
+    private static final int SNAPSHOT_DOUBLED = 8;
+
+    private static final int SNAPSHOT_SURRENDERED = 16;
+
+
+    /**
+     * Initialize all the members for the interactive game. A few things to keep in mind
+     * - Player's chips count is to 100
+     * - A single seat playing a single spot.
+     * - dealerHand is dealer's current hand.
+     * - Bets and hand options are read from the console.
+     */
+    BlackJack() {
+        this(new ConsolePlayer(), new SeededRandom());
+    }
+
+    /**
+     * Initialize the interactive game with a seeded random, so the same seed
+     * deals the same cards e.g. to reproduce a bug.
+     *
+     * @param seed seed of the deck shuffles
+     */
+    BlackJack(long seed) {
+        this(new ConsolePlayer(), new SeededRandom(seed));
+    }
+
+    /**
+     * Initialize an interactive game played by the given player e.g. over
+     * the connection of a table session, see TableServer.
+     *
+     * @param console player reading and printing to its own streams
+     * @param random  used to shuffle the deck
+     */
+    BlackJack(ConsolePlayer console, Random random) {
+        this(console, random, Player.HISTORY_SIZE);
+    }
+
+    /**
+     * Initialize an interactive game played by the given player, keeping the
+     * given number of recent hands.
+     *
+     * @param console     player reading and printing to its own streams
+     * @param random      used to shuffle the deck
+     * @param historySize number of recent hands to keep, 0 to reuse the hands
+     */
+    BlackJack(ConsolePlayer console, Random random, int historySize) {
+        this(console, new ShuffleEngine(random), historySize);
+    }
+
+    /**
+     * Same as above, shuffling with the given engine e.g. a SECURE engine
+     * of a server.
+     *
+     * @param console     player reading and printing to its own streams
+     * @param engine      shuffles the deck
+     * @param historySize number of recent hands to keep, 0 to reuse the hands
+     */
+    BlackJack(ConsolePlayer console, ShuffleEngine engine, int historySize) {
+        this(console.getOut(), engine, historySize);
+        this.console = console;
+        seats.get(0).setBetStrategy(console);
+        seats.get(0).setActionStrategy(console);
+    }
+
+    /**
+     * Initialize an interactive game without strategies. The rounds are
+     * played step by step with beginRound, applyOption and finishRound e.g.
+     * by a TableSession as the player's input arrives.
+     *
+     * @param out    stream the game prints to
+     * @param random used to shuffle the deck
+     */
+    BlackJack(PrintStream out, Random random) {
+        this(out, random, Player.HISTORY_SIZE);
+    }
+
+    /**
+     * Same as above, keeping the given number of recent hands. A server
+     * keeps none, so its tables reuse the hands from round to round.
+     *
+     * @param out         stream the game prints to
+     * @param random      used to shuffle the deck
+     * @param historySize number of recent hands to keep, 0 to reuse the hands
+     */
+    BlackJack(PrintStream out, Random random, int historySize) {
+        this(out, new ShuffleEngine(random), historySize);
+    }
+
+    /**
+     * Same as above, shuffling with the given engine.
+     *
+     * @param out         stream the game prints to
+     * @param engine      shuffles the deck
+     * @param historySize number of recent hands to keep, 0 to reuse the hands
+     */
+    BlackJack(PrintStream out, ShuffleEngine engine, int historySize) {
+        this(100, null, null, new Shoe(engine), false, historySize);
+        setRenderer(Renderer.of(out));
+    }
+
+    /**
+     * Initialize a headless game. Rounds are played by calling playRound.
+     *
+     * @param chips          chips the player starts with
+     * @param betStrategy    decides the bet of each hand
+     * @param actionStrategy decides how each hand is played
+     */
+    BlackJack(int chips, BetStrategy betStrategy, ActionStrategy actionStrategy) {
+        this(chips, betStrategy, actionStrategy, new SeededRandom());
+    }
+
+    /**
+     * Initialize a headless game which shuffles with the given random. Each
+     * simulated table passes its own so tables never share a random.
+     *
+     * @param chips          chips the player starts with
+     * @param betStrategy    decides the bet of each hand
+     * @param actionStrategy decides how each hand is played
+     * @param random         used to shuffle the deck
+     */
+    BlackJack(int chips, BetStrategy betStrategy, ActionStrategy actionStrategy, Random random) {
+        this(chips, betStrategy, actionStrategy, new Shoe(random));
+    }
+
+    /**
+     * Initialize a headless game dealing from the given shoe e.g. a multi-deck
+     * shoe or a continuous shuffling machine.
+     *
+     * @param chips          chips the player starts with
+     * @param betStrategy    decides the bet of each hand
+     * @param actionStrategy decides how each hand is played
+     * @param shoe           shoe to deal the cards from
+     */
+    BlackJack(int chips, BetStrategy betStrategy, ActionStrategy actionStrategy, Shoe shoe) {
+        // A headless game prints nothing and only keeps the count of wins, losses and ties
+        this(chips, betStrategy, actionStrategy, shoe, true, 0);
+        getShuffledDeck();
+    }
+
+    private BlackJack(int chips, BetStrategy betStrategy, ActionStrategy actionStrategy, Shoe shoe, boolean headless,
+                      int historySize) {
+        this.shoe = shoe;
+        this.historySize = historySize;
+        player = new Player(chips, historySize);
+        seats.add(new Seat(player, betStrategy, actionStrategy, 1));
+        dealer = new Dealer(historySize);
+        dealerHand = dealer.initializeCurrentHand();
+        setRenderer(headless ? Renderer.silent() : Renderer.console());
+    }
+
+    /**
+     * Welcome message for the player
+     */
+    void printWelcomeMessage() {
+        out.println("================================================");
+        out.println("| Welcome to BlackJack!                        |");
+        out.println("================================================");
+    }
+
+
+    /**
+     * Print the welcome message and shuffle the deck before the first round
+     */
+    void openTable() {
+        printWelcomeMessage();
+        getShuffledDeck();
+    }
+
+    /**
+     * This is the entry method and is called from the main class (Game)
+     * This method does the following tasks:
+     * <p/>
+     * 1- Prints Welcome Message
+     * 2- Creates and Gets shuffled deck
+     * 3- Asks the user to place the bet & deal cards
+     * 4- Plays player hand
+     * 5- Plays Dealer Hand
+     * 6- Evaluates the hand
+     * 7- Asks the player if they want to continue
+     */
+
+    void startGame() {
+        Boolean isGame = true;
+        openTable();
+
+        // Check if the chip count is valid and if the player wants to keep on playing
+        while (player.getChips() > 0 && isGame) {
+            playRound();
+            isGame = console.playAnotherHand();
+        }
+
+        if (player.getChips() <= 0 || !isGame) {
+            exitGame();
+        }
+    }
+
+    /**
+     * Play one complete round i.e. place the bets, deal, play the hands of
+     * every spot and the dealer hand, evaluate and reset the hands and the deck.
+     *
+     * @return chips won (positive) or lost (negative) by the players in this
+     * round, 0 if no spot had its bet covered
+     */
+    int playRound() {
+        layoutSpots();
+        if (bets.length < spotCount) {
+            bets = new int[spotCount];
+        }
+        // The chips of a seat's earlier spots are only taken once the round begins
+        int committed = 0;
+        for (int i = 0; i < spotCount; i++) {
+            Seat seat = spotSeats[i];
+            committed = i > 0 && spotSeats[i - 1] == seat ? committed + bets[i - 1] : 0;
+            long start = Metrics.ENABLED ? System.nanoTime() : 0;
+            bets[i] = seat.getBetStrategy().placeBet(seat.getPlayer().getChips() - committed);
+            if (Metrics.ENABLED) {
+                metrics.betLatency.record(System.nanoTime() - start);
+            }
+        }
+
+        // The bets are only reserved now, a seat sharing its chips with
+        // other tables may be short of them by then and sits the round out
+        if (beginRound(bets, true) == 0) {
+            return 0;
+        }
+        // A refused split or double keeps the hand active, it is asked again
+        while (activeHand != null) {
+            applyOption(giveHandOptions(activeHand));
+        }
+        finishRound();
+
+        return roundChips;
+    }
+
+    /**
+     * Start a round: place the bets and deal. The round is then played by
+     * passing the player's option for the active hand to applyOption until
+     * there is no active hand left, and ended by finishRound. playRound does
+     * all of it with the strategies, a table session one step per input.
+     *
+     * @param bets chips bet on each spot, in the order the spots are dealt
+     * @throws IllegalStateException if a bet is not positive or not covered by
+     *                               the chips of its player, the table is left
+     *                               as it was and no chips are taken
+     */
+    void beginRound(int... bets) {
+        beginRound(bets, false);
+    }
+
+    /**
+     * @param bets        chips bet on each spot, the bets of the spots in play
+     *                    are moved to the front when spots are skipped
+     * @param skipRefused true to skip the spots whose bet is not positive or
+     *                    can't be covered, false to refuse the whole round
+     * @return number of spots in play, the round is only begun if there is any
+     */
+    private int beginRound(int[] bets, boolean skipRefused) {
+        layoutSpots();
+        int count = spotCount;
+        // No spot is in play until every bet is taken
+        spotCount = 0;
+        if (bets.length < count) {
+            throw new IllegalArgumentException("Expected a bet for each of the " + count + " spots");
+        }
+        for (int i = 0; i < count && !skipRefused; i++) {
+            if (bets[i] <= 0) {
+                throw new IllegalStateException("Invalid bet of " + bets[i] + " chips");
+            }
+        }
+        // Take the chips of every spot before the round is counted. Whether
+        // a bet is covered is only known once its chips are reserved, the
+        // chips of a shared ledger may be taken by another table in between.
+        int placed = 0;
+        for (int i = 0; i < count; i++) {
+            ChipLedger ledger = spotSeats[i].getPlayer().getLedger();
+            if (bets[i] > 0 && ledger.reserve(bets[i])) {
+                spotSeats[placed] = spotSeats[i];
+                bets[placed++] = bets[i];
+            } else if (!skipRefused) {
+                for (int j = 0; j < placed; j++) {
+                    spotSeats[j].getPlayer().getLedger().settle(bets[j], bets[j]);
+                }
+                throw new IllegalStateException("Invalid bet of " + bets[i] + " chips with "
+                        + ledger.getAvailable() + " chips available");
+            }
+        }
+        if (placed == 0) {
+            return 0;
+        }
+        spotCount = placed;
+
+        rounds++;
+        roundChips = 0;
+        if (Metrics.ENABLED) {
+            roundStart = System.nanoTime();
+            metrics.rounds.increment();
+        }
+        if (stats != null) {
+            stats.rounds++;
+        }
+        for (int i = 0; i < spotCount; i++) {
+            PlayerHand hand = newHand();
+            hand.setSplittable(handsPerSpot > 1);
+            spotHands[i * handsPerSpot] = hand;
+            handCounts[i] = 1;
+            placeBet(i, bets[i]);
+        }
+        distributeCards();
+        if (ruleTables.offersInsurance() && dealerHand.getFaceUpCard().getCardType() == CardType.ACE) {
+            offerInsurance();
+        }
+
+        activeSpot = -1;
+        nextSpot();
+        return spotCount;
+    }
+
+    /**
+     * Ask the strategy of every spot whether to insure against a dealer BlackJack.
+     */
+    private void offerInsurance() {
+        for (int i = 0; i < spotCount; i++) {
+            Seat seat = spotSeats[i];
+            // A table played step by step has no strategies, see insure
+            if (seat.getActionStrategy() != null
+                    && seat.getActionStrategy().takeInsurance(spotHand(i, 0), seat.getPlayer().getChips())) {
+                insure(i);
+            }
+        }
+    }
+
+    /**
+     * Take the insurance of a spot: half its bet, paid 2 to 1 if the dealer
+     * has a BlackJack. Only possible before the hands of the round are played.
+     *
+     * @param spot spot to insure
+     */
+    void insure(int spot) {
+        Player spotPlayer = spotSeats[spot].getPlayer();
+        PlayerHand hand = spotHand(spot, 0);
+        int bet = hand.getBet() / 2;
+        if (!ruleTables.offersInsurance() || dealerHand.getFaceUpCard().getCardType() != CardType.ACE
+                || hand.getCards().size() != 2 || handCounts[spot] != 1 || insurance[spot] != 0) {
+            throw new IllegalStateException("Insurance is not offered");
+        }
+        if (bet == 0 || !spotPlayer.getLedger().reserve(bet)) {
+            return;
+        }
+        insurance[spot] = bet;
+        if (Metrics.ENABLED) {
+            metrics.chipsWagered.add(bet);
+        }
+        announce("Player takes insurance of " + bet + " Chips.");
+    }
+
+    /**
+     * Assign the spots of the next round to the seats in the order they are dealt.
+     *
+     * @throws IllegalStateException if the spots are more than the hand log holds, see HandRecord
+     */
+    private void layoutSpots() {
+        int count = countSpots();
+        handsPerSpot = rules.getMaxHands();
+        if (spotSeats.length < count) {
+            spotSeats = new Seat[count];
+            handCounts = new int[count];
+            insurance = new int[count];
+        }
+        if (spotHands.length < count * handsPerSpot) {
+            spotHands = new PlayerHand[count * handsPerSpot];
+        }
+        int spot = 0;
+        for (Seat seat : seats) {
+            for (int i = 0; i < seat.getSpots(); i++) {
+                spotSeats[spot++] = seat;
+            }
+        }
+        spotCount = count;
+    }
+
+    /**
+     * @return number of spots the seats play
+     */
+    private int countSpots() {
+        int count = 0;
+        for (Seat seat : seats) {
+            count += seat.getSpots();
+        }
+        if (handLog != null && count > HandRecord.MAX_SPOTS) {
+            throw new IllegalStateException("The hand log holds up to " + HandRecord.MAX_SPOTS + " spots");
+        }
+        return count;
+    }
+
+    /**
+     * @param spot  spot in the order the spots are dealt
+     * @param index index of the hand among the hands of the spot
+     * @return the hand
+     */
+    private PlayerHand spotHand(int spot, int index) {
+        return spotHands[spot * handsPerSpot + index];
+    }
+
+    /**
+     * @return hand waiting for the player's option, null once the hands of
+     * every spot are done
+     */
+    PlayerHand getActiveHand() {
+        return activeHand;
+    }
+
+    /**
+     * @return seat playing the active hand
+     */
+    Seat getActiveSeat() {
+        return activeHand == null ? null : spotSeats[activeSpot];
+    }
+
+    /**
+     * @param hand the active hand
+     * @return true if the hand can be split with the chips of its player
+     */
+    boolean canSplit(PlayerHand hand) {
+        return hand.canSplit() && spotSeats[activeSpot].getPlayer().getChips() >= hand.getBet();
+    }
+
+    /**
+     * @param hand the active hand
+     * @return true if the rules allow to double the hand and its player has
+     * the chips to match the bet
+     */
+    boolean canDouble(PlayerHand hand) {
+        return ruleTables.allows(HandOptions.DOUBLE, hand)
+                && spotSeats[activeSpot].getPlayer().getChips() >= hand.getBet();
+    }
+
+    /**
+     * @param hand the active hand
+     * @return true if the rules allow to surrender the hand
+     */
+    boolean canSurrender(PlayerHand hand) {
+        return ruleTables.allows(HandOptions.SURRENDER, hand);
+    }
+
+    /**
+     * Play the player's option for the active hand. A hit keeps the hand
+     * active unless it busts, a stand, double or surrender moves on to the
+     * next hand and a split makes the first of the split hands active.
+     * <p/>
+     * A split or double is refused if the chips of the player are taken by
+     * the time they are reserved, e.g. by another table sharing them. The
+     * hand then stays active and the player is asked again.
+     *
+     * @param option the player's option
+     * @return false if the option was refused for lack of chips
+     */
+    boolean applyOption(HandOptions option) {
+        PlayerHand hand = activeHand;
+        if (hand == null) {
+            throw new IllegalStateException("No hand in play");
+        }
+
+        // If player wanted to hit
+        // Remove card from deck and call playerHand.hit
+        if (option == HandOptions.HIT) {
+            hit(hand, dealCard());
+
+            // Player will be given options to hit or stand even if
+            // their handValue is sitting at 21
+            if (hand.isBusted()) {
+                nextHand();
+            }
+        } else if (option == HandOptions.STAND) {
+            // Call player's stand
+            if (renderer.isEnabled()) {
+                hand.stand(out);
+            } else {
+                hand.setStand(true);
+            }
+            nextHand();
+        } else if (option == HandOptions.SPLIT) {
+            if (!canSplit(hand)) {
+                throw new IllegalStateException("Hand can't be split");
+            }
+            // Call split method, show both the hands and initiate
+            // play for both hands
+            int index = activeIndex;
+            if (!split()) {
+                announce("Not enough chips to split.");
+                return false;
+            }
+
+            if (renderer.isEnabled()) {
+                out.println("==== Hand " + (index + 1) + " ====");
+                hand.printHand(out);
+                out.println("==== Hand " + (index + 2) + " ====");
+                spotHand(activeSpot, index + 1).printHand(out);
+            }
+
+            if (hand.isBlackJack() || hand.isStand()) {
+                nextHand();
+            } else if (renderer.isEnabled()) {
+                out.println("==== Playing Split Hand # " + (index + 1) + " ====");
+                hand.printHand(out);
+            }
+        } else if (option == HandOptions.DOUBLE) {
+            if (!canDouble(hand)) {
+                throw new IllegalStateException("Hand can't be doubled");
+            }
+            // Double the bet, take a single card and stand unless busted
+            if (!spotSeats[activeSpot].getPlayer().getLedger().reserve(hand.getBet())) {
+                announce("Not enough chips to double.");
+                return false;
+            }
+            if (Metrics.ENABLED) {
+                metrics.chipsWagered.add(hand.getBet());
+            }
+            hand.setBet(hand.getBet() * 2);
+            hand.setDoubled(true);
+            if (stats != null) {
+                stats.doubles++;
+            }
+            announce("Player doubled down.");
+            hit(hand, dealCard());
+            hand.setStand(!hand.isBusted());
+            nextHand();
+        } else if (option == HandOptions.SURRENDER) {
+            if (!canSurrender(hand)) {
+                throw new IllegalStateException("Hand can't be surrendered");
+            }
+            hand.setSurrendered(true);
+            if (stats != null) {
+                stats.surrenders++;
+            }
+            announce("Player surrendered.");
+            nextHand();
+        }
+        return true;
+    }
+
+    /**
+     * Move on to the next split hand of the spot unless it is a BlackJack or
+     * already stands e.g. a split ace given a single card. Once there is none
+     * left the hands of the spot are done.
+     */
+    private void nextHand() {
+        while (++activeIndex < handCounts[activeSpot]) {
+            PlayerHand splitHand = spotHand(activeSpot, activeIndex);
+            if (!splitHand.isBlackJack() && !splitHand.isStand()) {
+                activeHand = splitHand;
+                if (renderer.isEnabled()) {
+                    out.println("==== Playing Split Hand # " + (activeIndex + 1) + " ====");
+                    splitHand.printHand(out);
+                }
+                return;
+            }
+        }
+        nextSpot();
+    }
+
+    /**
+     * Make the hand of the next spot active, or no hand once every spot is done.
+     */
+    private void nextSpot() {
+        activeHand = null;
+        activeIndex = 0;
+        while (++activeSpot < spotCount) {
+            // If the player hits BlackJack, no need to play Hit, Stand
+            if (!spotHand(activeSpot, 0).isBlackJack()) {
+                activeHand = spotHand(activeSpot, 0);
+                if (spotCount > 1 && renderer.isEnabled()) {
+                    out.println("==== Playing Spot # " + (activeSpot + 1) + " ====");
+                    activeHand.printHand(out);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finish a round once the player's hands are done: play the dealer's
+     * hand, evaluate and reset the hands and the deck.
+     */
+    void finishRound() {
+        // Call dealer to play hits only if a player stood a hand or a split hand
+        // If every hand busted or had blackjack, dealer doesn't need to take hits
+        // The dealer plays once for all the spots
+        if (isAnyHandStanding()) {
+            performDealerHits();
+        }
+        settleInsurance();
+
+        for (int i = 0; i < spotCount; i++) {
+            if (spotCount > 1) {
+                announce("\n==== Spot # " + (i + 1) + " ====");
+            }
+
+            // Evaluate Hands
+            // If there was a split, evaluate every split hand
+            if (handCounts[i] > 1) {
+                for (int k = 0; k < handCounts[i]; k++) {
+                    announce("\nEvaluating Split Hand # " + (k + 1) + " \n");
+                    evaluateHand(spotHand(i, k), i);
+                }
+            } else {
+                // Only evaluate current hand since there was no split
+                evaluateHand(spotHand(i, 0), i);
+            }
+        }
+
+        // Dump the hand records to player's hand list
+        // Mark the dealt cards as done with in the shoe
+        // Reinitialize the player and dealer hands
+        resetHand();
+        if (Metrics.ENABLED) {
+            metrics.roundLatency.record(System.nanoTime() - roundStart);
+        }
+
+        // Check if deck has enough cards left
+        // Add more cards if needed
+        resetDeck();
+    }
+
+    /**
+     * Pay the insurance of every insured spot 2 to 1 if the dealer has a
+     * BlackJack, otherwise the insurance is lost.
+     */
+    private void settleInsurance() {
+        for (int i = 0; i < spotCount; i++) {
+            int bet = insurance[i];
+            if (bet == 0) {
+                continue;
+            }
+            int chips = -bet;
+            if (dealerHand.isBlackJack()) {
+                chips = 2 * bet;
+                announce("Dealer BlackJack. Insurance pays " + chips + " Chips.");
+            } else {
+                announce("No Dealer BlackJack. Insurance is lost.");
+            }
+            spotSeats[i].getPlayer().getLedger().settle(bet, bet + chips);
+            if (Metrics.ENABLED) {
+                metrics.chipsPaid.add(bet + chips);
+            }
+            roundChips += chips;
+            if (stats != null) {
+                stats.recordInsurance(chips);
+            }
+            insurance[i] = 0;
+        }
+    }
+
+    /**
+     * @return true if a hand of any spot stands
+     */
+    private boolean isAnyHandStanding() {
+        for (int i = 0; i < spotCount; i++) {
+            for (int k = 0; k < handCounts[i]; k++) {
+                if (spotHand(i, k).isStand()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void exitGame() {
+        if (player.getChips() <= 0) {
+            out.println("Sorry! you are out of chips.");
+        }
+        out.println("Exiting the game!");
+        player.printPlayer(out);
+        renderer.flush();
+    }
+
+    /**
+     * Put the bet on the hand of the spot, its chips were already taken from
+     * the player by beginRound.
+     *
+     * @param spot spot the bet is placed on
+     * @param bet  chips bet on the hand
+     */
+    void placeBet(int spot, int bet) {
+        Player spotPlayer = spotSeats[spot].getPlayer();
+        spotHand(spot, 0).setBet(bet);
+        if (Metrics.ENABLED) {
+            metrics.chipsWagered.add(bet);
+        }
+        if (renderer.isEnabled()) {
+            out.println(" Your Bet is: " + bet + " Chips & you have " + spotPlayer.getChips() + " Chips remaining ");
+            out.println("=========================================================================================");
+        }
+    }
+
+
+    /**
+     * Deal cards one by one in casino order. First one card to every spot then
+     * to dealer himself, then the second card the same way.
+     * <p/>
+     * Print Dealer's face up card and the complete hand of every spot
+     */
+    void distributeCards() {
+
+        for (int i = 0; i < spotCount; i++) {
+            spotHand(i, 0).addCard(dealCard());
+        }
+        dealerHand.addCard(dealCard());
+        for (int i = 0; i < spotCount; i++) {
+            spotHand(i, 0).addCard(dealCard());
+        }
+        dealerHand.addCard(dealCard());
+
+        if (renderer.isEnabled()) {
+            dealerHand.printFaceUpCard(out);
+            for (int i = 0; i < spotCount; i++) {
+                if (spotCount > 1) {
+                    out.println("==== Spot # " + (i + 1) + " ====");
+                }
+                spotHand(i, 0).printHand(out);
+            }
+        }
+    }
+
+
+    /**
+     * Give player the options to play the hand i.e. either
+     * Hit, Stand or Split
+     *
+     * @param hand Player hand that is effective, could be split hand or the first hand
+     * @return Player's selection
+     */
+    HandOptions giveHandOptions(PlayerHand hand) {
+        Seat seat = spotSeats[activeSpot];
+        if (!Metrics.ENABLED) {
+            return seat.getActionStrategy().chooseOption(hand, dealerHand.getFaceUpCard(), seat.getPlayer().getChips());
+        }
+        long start = System.nanoTime();
+        HandOptions option = seat.getActionStrategy().chooseOption(hand, dealerHand.getFaceUpCard(), seat.getPlayer().getChips());
+        metrics.decisionLatency.record(System.nanoTime() - start);
+        return option;
+    }
+
+    /**
+     * If the player opted for split then split the active hand: initialize the split
+     * hand, distribute one of active hand's card, set the bet value, update
+     * player chips and deal two cards one to each hand from the deck.
+     * <p/>
+     * The split hand is placed right after the active hand among the hands of
+     * the spot, so the hands are played from left to right however often they
+     * are split. The spot has room for as many hands as the rules allow and
+     * every hand knows whether it may be split again.
+     *
+     * @return false if the hand was not split, e.g. its player's chips
+     * didn't cover the bet of the split hand
+     */
+    public boolean split() {
+        if (activeHand == null) {
+            return false;
+        }
+        PlayerHand playerHand = activeHand;
+        Player spotPlayer = spotSeats[activeSpot].getPlayer();
+        if (!playerHand.canSplit() || !spotPlayer.getLedger().reserve(playerHand.getBet())) {
+            return false;
+        }
+        if (stats != null) {
+            stats.splits++;
+        }
+        if (Metrics.ENABLED) {
+            metrics.chipsWagered.add(playerHand.getBet());
+        }
+
+        // Initialize splitHand with bet equal to parent hand and
+        // split boolean set to true
+        PlayerHand splitHand = newHand();
+        splitHand.setBet(playerHand.getBet());
+        splitHand.setSplit(true);
+        splitHand.addCard(playerHand.removeCard(1));
+
+        // Make room for the split hand right after the active hand
+        int first = activeSpot * handsPerSpot;
+        int count = handCounts[activeSpot];
+        System.arraycopy(spotHands, first + activeIndex + 1, spotHands, first + activeIndex + 2, count - activeIndex - 1);
+        spotHands[first + activeIndex + 1] = splitHand;
+        handCounts[activeSpot] = ++count;
+
+        // draw cards from the deck for each hand 
+        playerHand.addCard(dealCard());
+        splitHand.addCard(dealCard());
+
+        playerHand.setSplit(true);
+
+        // No hand of the spot can be split once it has all the hands allowed,
+        // split aces only if the rules allow it
+        for (int i = first; i < first + count; i++) {
+            PlayerHand hand = spotHands[i];
+            hand.setSplittable(count < handsPerSpot
+                    && (rules.isResplitAces() || hand.getCards().get(0).getCardType() != CardType.ACE));
+        }
+
+        // Split aces getting a single card stand on it
+        if (splitHand.getCards().get(0).getCardType() == CardType.ACE && !rules.isHitSplitAces()) {
+            playerHand.setStand(true);
+            splitHand.setStand(true);
+        }
+        return true;
+    }
+
+    /**
+     * Dealer should take the hit as long as they don't 17, or a hard 17 if
+     * the rules say the dealer hits a soft 17
+     */
+    private void performDealerHits() {
+        if (renderer.isEnabled()) {
+            dealerHand.printHand(out);
+        }
+        while (ruleTables.dealerHits(dealerHand)) {
+            announce("Dealer Hits!");
+            hit(dealerHand, dealCard());
+            if (Metrics.ENABLED) {
+                metrics.dealerDraws.increment();
+            }
+        }
+    }
+
+    /**
+     * Take the top card from the shoe. If the shoe runs out in the middle
+     * of a hand, the cards dealt in older hands are shuffled back in first.
+     *
+     * @return card taken from the shoe
+     */
+    private Card dealCard() {
+        Card card = shoe.deal();
+        if (tracker != null) {
+            tracker.count(card);
+        }
+        if (Metrics.ENABLED) {
+            metrics.cardsDealt.increment();
+        }
+        return card;
+    }
+
+    /**
+     * Add the card to the hand. A rendered game calls Hand.hit
+     * which also prints the new card and the hand.
+     *
+     * @param hand    player or dealer hand
+     * @param newCard taken from the deck
+     */
+    private void hit(Hand hand, Card newCard) {
+        if (renderer.isEnabled()) {
+            hand.hit(newCard, out);
+        } else {
+            hand.addCard(newCard);
+        }
+    }
+
+    /**
+     * Print a message unless the renderer is silent
+     *
+     * @param message to be printed
+     */
+    private void announce(String message) {
+        if (renderer.isEnabled()) {
+            out.println(message);
+        }
+    }
+
+    /**
+     * Evaluate who won the hand
+     * whether it was a blackjack, tie, bust or comparison of hand value
+     *
+     * @param hand the player hand that needs to be evaluated
+     * @param spot spot of the hand
+     */
+    void evaluateHand(PlayerHand hand, int spot) {
+        Player player = spotSeats[spot].getPlayer();
+        int outcome;
+
+        if (hand.isSurrendered() && dealerHand.isBlackJack()) {
+            // A late surrender only counts once the dealer has no BlackJack
+            announce("Dealer BlackJack, the surrender is lost. Dealer wins hand!");
+            outcome = RuleTables.LOSS;
+        } else if (hand.isSurrendered()) {
+            announce("Player surrendered, half the bet is returned.");
+            outcome = RuleTables.SURRENDER;
+        } else if (hand.isBlackJack() && dealerHand.isBlackJack()) {
+            announce("Player & Dealer BlackJack. It is a Push!");
+            outcome = RuleTables.PUSH;
+        } else if (hand.isBlackJack()) {
+            announce("Player BlackJack. Player wins hand!");
+            // A BlackJack of a split hand is paid like any other win
+            outcome = hand.isSplit() ? RuleTables.WIN : RuleTables.BLACKJACK;
+        } else if (hand.getHandValue() > 21) {
+            announce("Player Busted, Dealer wins hand!");
+            outcome = RuleTables.LOSS;
+        } else if (dealerHand.getHandValue() > 21) {
+            announce("Dealer Busted, Player wins hand!");
+            outcome = RuleTables.WIN;
+        } else if (hand.getHandValue() > dealerHand.getHandValue()) {
+            announce("Player wins hand!");
+            outcome = RuleTables.WIN;
+        } else if (dealerHand.getHandValue() > hand.getHandValue()) {
+            announce("Dealer wins hand!");
+            outcome = RuleTables.LOSS;
+        } else {
+            announce("We have reached a PUSH. Nobody wins!");
+            outcome = RuleTables.PUSH;
+        }
+
+        // The payout of the outcome comes from the rules
+        int chips = ruleTables.payout(outcome, hand.getBet());
+        player.getLedger().settle(hand.getBet(), chips);
+        hand.settle(RuleTables.RESULTS[outcome], chips - hand.getBet());
+        roundChips += chips - hand.getBet();
+        if (Metrics.ENABLED) {
+            metrics.hands.increment();
+            metrics.chipsPaid.add(chips);
+        }
+        dealerHand.setResult(RuleTables.DEALER_RESULTS[outcome]);
+
+        if (stats != null) {
+            stats.record(hand);
+        }
+        if (handLog != null) {
+            handLog.append(rounds, spot, hand, dealerHand);
+        }
+
+    }
+
+    /**
+     * Shuffle all the cards of the shoe
+     */
+    public void getShuffledDeck() {
+        shoe.shuffle();
+        // Opening the shoe is not a reshuffle
+        countedShuffles = shoe.getShuffles();
+    }
+
+    /**
+     * Expected value of every option for a hand in play, e.g. to give the
+     * player a hint. The dealer's hole card is counted as one of the cards
+     * left in the shoe since the player doesn't know it.
+     *
+     * @param hand player hand in play
+     * @return expected value of every HandOptions indexed by ordinal, NaN if
+     * an option is not available
+     */
+    double[] getExpectedValues(PlayerHand hand) {
+        if (calculator == null) {
+            calculator = new ExpectedValueCalculator(new DealerProbabilities(10000, rules.isDealerHitsSoft17()), false, rules);
+        }
+        int[] composition = new int[DealerProbabilities.RANKS];
+        shoe.countRemaining(composition);
+        composition[DealerProbabilities.rank(dealerHand.getCards().get(1).getCardType())]++;
+
+        return calculator.evaluate(hand, dealerHand.getFaceUpCard(), composition, canSplit(hand),
+                canDouble(hand), canSurrender(hand));
+    }
+
+    /**
+     * Play with the given house rules from the next round on. The rules are
+     * compiled when they are set, set them again after a change.
+     *
+     * @param rules rules of the table, may be shared with other tables
+     */
+    void setRules(Rules rules) {
+        this.rules = rules;
+        this.ruleTables = new RuleTables(rules);
+        this.calculator = null;
+    }
+
+    Rules getRules() {
+        return rules;
+    }
+
+    /**
+     * Print the game with the given renderer e.g. to render the hands of a
+     * headless game to a file.
+     *
+     * @param renderer renderer to print the game with
+     */
+    void setRenderer(Renderer renderer) {
+        this.renderer = renderer;
+        this.out = renderer.getOut();
+    }
+
+    Renderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * @return player of the first seat e.g. the player of the interactive game
+     */
+    Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Add a seat to the table. It is dealt after the seats already at the
+     * table, from the next round on.
+     *
+     * @param chips          chips the player starts with
+     * @param betStrategy    decides the bet of each spot
+     * @param actionStrategy decides how each hand is played
+     * @param spots          number of spots played every round
+     * @return the new seat
+     */
+    Seat addSeat(int chips, BetStrategy betStrategy, ActionStrategy actionStrategy, int spots) {
+        return addSeat(new Player(chips, historySize), betStrategy, actionStrategy, spots);
+    }
+
+    /**
+     * Add a seat played with a bankroll which may back seats at other tables
+     * too. The bets are reserved in the ledger so two tables never bet the
+     * same chips.
+     *
+     * @param bankroll       ledger of the player's chips
+     * @param betStrategy    decides the bet of each spot
+     * @param actionStrategy decides how each hand is played
+     * @param spots          number of spots played every round
+     * @return the new seat
+     */
+    Seat addSeat(ChipLedger bankroll, BetStrategy betStrategy, ActionStrategy actionStrategy, int spots) {
+        return addSeat(new Player(bankroll, historySize), betStrategy, actionStrategy, spots);
+    }
+
+    private Seat addSeat(Player seatPlayer, BetStrategy betStrategy, ActionStrategy actionStrategy, int spots) {
+        Seat seat = new Seat(seatPlayer, betStrategy, actionStrategy, spots);
+        seats.add(seat);
+        return seat;
+    }
+
+    /**
+     * @return the seats in the order they are dealt, the first one is the
+     * seat of the table's player
+     */
+    List<Seat> getSeats() {
+        return seats;
+    }
+
+    void setStatistics(SimulationStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Count this table into its own metrics instead of Metrics.GLOBAL.
+     * Nothing is counted unless metrics are on.
+     *
+     * @param metrics metrics of this table, registered by the caller if it
+     *                should be exported
+     */
+    void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Log every evaluated hand of this table e.g. as an audit trail.
+     *
+     * @param handLog writer of the log, owned and closed by the caller
+     */
+    public void setHandLog(HandLogWriter handLog) {
+        this.handLog = handLog;
+    }
+
+    /**
+     * Count the cards dealt from this table's shoe, e.g. to drive a BetRamp.
+     *
+     * @param tracker tracker of the shoe given to this table
+     */
+    void setCountTracker(CountTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * Add the hands to the players and dealer history.
+     * Reinitialize the spots and the dealer hand
+     */
+    void resetHand() {
+        int chips = 0;
+        for (int i = 0; i < spotCount; i++) {
+            Player spotPlayer = spotSeats[i].getPlayer();
+            for (int k = 0; k < handCounts[i]; k++) {
+                PlayerHand hand = spotHand(i, k);
+                chips += hand.getChipDelta();
+                spotPlayer.addHand(hand);
+                if (historySize == 0) {
+                    releaseHand(hand);
+                }
+                spotHands[i * handsPerSpot + k] = null;
+            }
+            handCounts[i] = 0;
+        }
+        spotCount = 0;
+        activeHand = null;
+
+        dealer.addHand(dealerHand, -chips);
+        // The cards of this hand are now dealt cards in the shoe
+        shoe.endRound();
+        if (Metrics.ENABLED) {
+            // Every shuffle counts: at the cut card, in the middle of a round
+            // once the shoe runs out and the continuous shuffles of each round
+            metrics.reshuffles.add(shoe.getShuffles() - countedShuffles);
+            countedShuffles = shoe.getShuffles();
+        }
+        // Reset the dealer hand, the spots get new hands when the next round begins
+        dealerHand = dealer.initializeCurrentHand();
+    }
+
+    /**
+     * @return an empty player hand, taken from the pool if there is one
+     */
+    private PlayerHand newHand() {
+        if (pooledHands == 0) {
+            return new PlayerHand();
+        }
+        PlayerHand hand = handPool[--pooledHands];
+        handPool[pooledHands] = null;
+        return hand;
+    }
+
+    /**
+     * Empty a hand nothing refers to any more and keep it for a later round.
+     * The pool grows to the most hands a round has played.
+     *
+     * @param hand evaluated hand added to a history that doesn't keep it, or
+     *             a hand of a round dropped by restore
+     */
+    private void releaseHand(PlayerHand hand) {
+        hand.reset();
+        if (pooledHands == handPool.length) {
+            handPool = Arrays.copyOf(handPool, Math.max(4, handPool.length * 2));
+        }
+        handPool[pooledHands++] = hand;
+    }
+
+    /**
+     * Shuffle the dealt cards back into the shoe once the cut card is
+     * reached. For the single deck shoe that is when it has 10 or less
+     * cards left.
+     * <p/>
+     * The value 10 is arbitrary and can be changed with any other value
+     */
+    void resetDeck() {
+        if (shoe.needsShuffle()) {
+            if (renderer.isEnabled()) {
+                out.println("============================================================");
+                out.println(" Deck is almost empty. Adding more cards to the dealer shoe.");
+                out.println("============================================================");
+            }
+            shoe.shuffle();
+        }
+    }
+
+    /**
+     * Save the state of the table: the shoe including the state of its
+     * random, the chips of every seat, the current hands and the running count.
+     * Restoring it on a table with the same seats, shoe, rules and strategies deals
+     * exactly the same hands from then on. Only works with a shoe shuffled by
+     * a SeededRandom.
+     *
+     * @return the saved state
+     */
+    byte[] snapshot() {
+        int hands = 1;
+        int cards = dealerHand.getCards().size();
+        for (int i = 0; i < spotCount; i++) {
+            hands += handCounts[i];
+            for (int k = 0; k < handCounts[i]; k++) {
+                cards += spotHand(i, k).getCards().size();
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_HEADER + 8 * seats.size() + shoe.snapshotSize()
+                + 5 * spotCount + hands * SNAPSHOT_HAND + cards);
+        buffer.putInt(SNAPSHOT_VERSION);
+        buffer.putLong(rounds);
+        buffer.putInt(seats.size());
+        for (Seat seat : seats) {
+            buffer.putInt(seat.getPlayer().getLedger().getAvailable());
+            buffer.putInt(seat.getPlayer().getLedger().getReserved());
+        }
+        buffer.put((byte) (tracker != null ? 1 : 0));
+        buffer.putInt(tracker != null ? tracker.getRunningCount() : 0);
+        shoe.writeTo(buffer);
+        buffer.putShort((short) spotCount);
+        for (int i = 0; i < spotCount; i++) {
+            buffer.putInt(insurance[i]);
+            buffer.put((byte) handCounts[i]);
+            for (int k = 0; k < handCounts[i]; k++) {
+                writeHand(buffer, spotHand(i, k));
+            }
+        }
+        writeHand(buffer, dealerHand);
+        buffer.putShort((short) (activeHand == null ? -1 : activeSpot));
+        buffer.put((byte) activeIndex);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Restore the state saved by snapshot. The whole snapshot is checked
+     * first, a snapshot that doesn't fit the table leaves it as it was.
+     * <p/>
+     * The chips of every seat are restored too, so a table with a bankroll
+     * shared with other tables can't be restored: the other tables may have
+     * bet or won its chips since.
+     *
+     * @param snapshot the saved state
+     */
+    void restore(byte[] snapshot) {
+        ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+        checkSnapshot(buffer);
+        buffer.rewind();
+        buffer.getInt();
+        rounds = buffer.getLong();
+        buffer.getInt();
+        for (Seat seat : seats) {
+            seat.getPlayer().getLedger().reset(buffer.getInt(), buffer.getInt());
+        }
+        boolean counted = buffer.get() != 0;
+        int runningCount = buffer.getInt();
+        shoe.readFrom(buffer);
+        countedShuffles = shoe.getShuffles();
+        if (tracker != null && counted) {
+            tracker.setRunningCount(runningCount);
+        }
+
+        // The hands of the round in play were not added to any history yet
+        for (int i = 0; i < spotCount; i++) {
+            for (int k = 0; k < handCounts[i]; k++) {
+                releaseHand(spotHand(i, k));
+                spotHands[i * handsPerSpot + k] = null;
+            }
+            handCounts[i] = 0;
+        }
+        int savedSpots = buffer.getShort();
+        layoutSpots();
+        spotCount = savedSpots;
+        for (int i = 0; i < spotCount; i++) {
+            insurance[i] = buffer.getInt();
+            handCounts[i] = buffer.get();
+            for (int k = 0; k < handCounts[i]; k++) {
+                PlayerHand hand = newHand();
+                readHand(buffer, hand);
+                spotHands[i * handsPerSpot + k] = hand;
+            }
+        }
+        dealerHand = dealer.initializeCurrentHand();
+        readHand(buffer, dealerHand);
+
+        activeSpot = buffer.getShort();
+        activeIndex = buffer.get();
+        activeHand = activeSpot < 0 ? null : spotHand(activeSpot, activeIndex);
+    }
+
+    /**
+     * Read through a snapshot without restoring anything, to check it fits
+     * the seats, shoe and rules of the table.
+     *
+     * @param buffer the saved state
+     */
+    private void checkSnapshot(ByteBuffer buffer) {
+        if (buffer.getInt() != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("Unsupported table snapshot");
+        }
+        buffer.getLong();
+        if (buffer.getInt() != seats.size()) {
+            throw new IllegalArgumentException("Snapshot of a table with a different number of seats");
+        }
+        for (Seat seat : seats) {
+            if (seat.getPlayer().isSharedLedger()) {
+                throw new IllegalStateException("Can't restore the chips of a bankroll shared with other tables");
+            }
+            int available = buffer.getInt();
+            int reserved = buffer.getInt();
+            if (available < 0 || reserved < 0) {
+                throw new IllegalArgumentException("Snapshot of " + available + " chips with " + reserved + " reserved");
+            }
+        }
+        buffer.get();
+        buffer.getInt();
+        shoe.checkSnapshot(buffer);
+
+        int savedSpots = buffer.getShort();
+        int spots = countSpots();
+        if (savedSpots != 0 && savedSpots != spots) {
+            throw new IllegalArgumentException("Snapshot of a round with " + savedSpots + " spots, the seats play " + spots);
+        }
+        int[] savedCounts = new int[Math.max(savedSpots, 0)];
+        PlayerHand hand = new PlayerHand();
+        for (int i = 0; i < savedCounts.length; i++) {
+            buffer.getInt();
+            savedCounts[i] = buffer.get();
+            if (savedCounts[i] < 0 || savedCounts[i] > rules.getMaxHands()) {
+                throw new IllegalArgumentException("Snapshot of a spot split into " + savedCounts[i]
+                        + " hands, the rules allow " + rules.getMaxHands());
+            }
+            for (int k = 0; k < savedCounts[i]; k++) {
+                hand.reset();
+                readHand(buffer, hand);
+            }
+        }
+        readHand(buffer, new DealerHand());
+
+        int savedActiveSpot = buffer.getShort();
+        int savedActiveIndex = buffer.get();
+        if (savedActiveSpot >= savedCounts.length || savedActiveSpot >= 0
+                && (savedActiveIndex < 0 || savedActiveIndex >= savedCounts[savedActiveSpot])) {
+            throw new IllegalArgumentException("Snapshot of active hand " + savedActiveIndex
+                    + " of spot " + savedActiveSpot);
+        }
+    }
+
+    /**
+     * Write the bet, flags, result and card codes of a hand.
+     */
+    private static void writeHand(ByteBuffer buffer, Hand hand) {
+        int flags = 0;
+        int bet = 0;
+        if (hand instanceof PlayerHand) {
+            PlayerHand playerHand = (PlayerHand) hand;
+            bet = playerHand.getBet();
+            flags |= playerHand.isSplit() ? SNAPSHOT_SPLIT : 0;
+            flags |= playerHand.isStand() ? SNAPSHOT_STAND : 0;
+            flags |= playerHand.isSplittable() ? SNAPSHOT_SPLITTABLE : 0;
+            flags |= playerHand.isDoubled() ? SNAPSHOT_DOUBLED : 0;
+            flags |= playerHand.isSurrendered() ? SNAPSHOT_SURRENDERED : 0;
+        }
+        buffer.putInt(bet);
+        buffer.put((byte) flags);
+        buffer.put((byte) hand.getResult());
+        buffer.putShort((short) hand.getCards().size());
+        for (Card card : hand.getCards()) {
+            buffer.put((byte) card.getCode());
+        }
+    }
+
+    private static void readHand(ByteBuffer buffer, Hand hand) {
+        int bet = buffer.getInt();
+        int flags = buffer.get();
+        hand.setResult((char) buffer.get());
+        int cards = buffer.getShort();
+        for (int i = 0; i < cards; i++) {
+            int code = buffer.get();
+            if (code < 0 || code >= Shoe.DECK_SIZE) {
+                throw new IllegalArgumentException("Snapshot of a card with code " + code);
+            }
+            hand.addCard(Card.of(code));
+        }
+        if (hand instanceof PlayerHand) {
+            PlayerHand playerHand = (PlayerHand) hand;
+            playerHand.setBet(bet);
+            playerHand.setSplit((flags & SNAPSHOT_SPLIT) != 0);
+            playerHand.setStand((flags & SNAPSHOT_STAND) != 0);
+            playerHand.setSplittable((flags & SNAPSHOT_SPLITTABLE) != 0);
+            playerHand.setDoubled((flags & SNAPSHOT_DOUBLED) != 0);
+            playerHand.setSurrendered((flags & SNAPSHOT_SURRENDERED) != 0);
+        }
+    }
+
+}
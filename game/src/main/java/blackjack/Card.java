@@ -0,0 +1,114 @@
+package blackjack;
+
+/**
+ * This class represents a single complete Card which has a
+ * Title, Value and Suit, for example Jack of Spades having value 10.
+ * <p/>
+ * Thus, a Card is composed of a CardType(value, displayName) and Suit.
+ * <p/>
+ * A Card is immutable and there is only one Card of each suit and type,
+ * created up front and looked up by its code (see Shoe) with Card.of. So
+ * dealing a card never allocates and the cards are shared by every shoe,
+ * table and thread.
+ */
+
+public final class Card {
+
+    /**
+     * Every card by code
+     */
+    private static final Card[] CARDS = new Card[Shoe.DECK_SIZE];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (CardType cardType : CardType.values()) {
+                int code = Shoe.code(suit, cardType);
+                CARDS[code] = new Card(suit, cardType, code, cardType.getDisplayName() + " of " + suit.name());
+            }
+        }
+    }
+
+    private final Suit suit;
+
+    private final CardType cardType;
+
+    private final int code;
+
+    /**
+     * Label of the card, so printing a card doesn't build a new String
+     */
+    private final String label;
+
+    private Card(Suit suit, CardType cardType, int code, String label) {
+        this.suit = suit;
+        this.cardType = cardType;
+        this.code = code;
+        this.label = label;
+    }
+
+    /**
+     * @param code code of a card, see Shoe
+     * @return the card of the code
+     */
+    public static Card of(int code) {
+        return CARDS[code];
+    }
+
+    public static Card of(Suit suit, CardType cardType) {
+        return CARDS[Shoe.code(suit, cardType)];
+    }
+
+    public Suit getSuit() {
+        return suit;
+    }
+
+    public CardType getCardType() {
+        return cardType;
+    }
+
+    /**
+     * @return code of the card, see Shoe
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * This method is used at numerous locations where we are printing / displaying
+     * a particular card while hitting or while displaying player / dealer hands.
+     */
+    public String toString() {
+        return label;
+    }
+
+    /**
+     * @param code code of a card, see Shoe
+     * @return label of the card e.g. Jack of SPADES
+     */
+    static String label(int code) {
+        return CARDS[code].label;
+    }
+
+    /**
+     * equals is overriden to validate a possible split.
+     * The condition here is to check if both cards have the same CardType i.e.
+     * you can only split if you have Jack and Jack or Seven and Seven.
+     * Split on cards having same values i.e. Jack and Queen are not allowed.
+     * However, it can be very easily implemented by comparing the values of cards rather than
+     * the CardType.
+     *
+     * @param obj another Card.
+     *
+     */
+
+    public boolean equals(Object obj) {
+        return obj instanceof Card && ((Card) obj).cardType == cardType;
+    }
+
+    /**
+     * Consistent with equals, the cards of a CardType share a hash code
+     */
+    public int hashCode() {
+        return cardType.ordinal();
+    }
+}
@@ -1,3 +1,5 @@
+package blackjack;
+
 /**
  *
  * This Enum represents the 13 cards in any deck.
@@ -0,0 +1,166 @@
+package blackjack;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ChipLedger keeps the chips of a bankroll which may back players at many
+ * tables at once, e.g. a player seated at several tables of a TableServer.
+ * <p/>
+ * The chips are either available or reserved. A bet, a split or double down
+ * stake and an insurance are reserved from the available chips when they are
+ * placed, and settled once the hand is evaluated: the reserved stake is taken
+ * off and the payout, if any, credited. So the chips of a bet in play can't be
+ * bet again at another table and a bankroll never goes negative.
+ * <p/>
+ * Both amounts are packed in a single AtomicLong, the available chips in the
+ * upper and the reserved chips in the lower 32 bits, and every operation is a
+ * compare and set of the pair. Operations never wait on a lock and the balance
+ * is exact whatever the number of tables. Every bankroll has its own ledger,
+ * so tables only ever contend on a shared bankroll.
+ */
+
+public class ChipLedger {
+
+    private final AtomicLong state;
+
+    /**
+     * @param chips chips available at first
+     */
+    public ChipLedger(int chips) {
+        if (chips < 0) {
+            throw new IllegalArgumentException("Invalid chips " + chips);
+        }
+        state = new AtomicLong(pack(chips, 0));
+    }
+
+    private static long pack(int available, int reserved) {
+        return (long) available << 32 | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int available(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int reserved(long state) {
+        return (int) state;
+    }
+
+    /**
+     * @return chips that can be bet
+     */
+    public int getAvailable() {
+        return available(state.get());
+    }
+
+    /**
+     * @return chips of the bets in play
+     */
+    public int getReserved() {
+        return reserved(state.get());
+    }
+
+    /**
+     * @return available and reserved chips
+     */
+    public long getBalance() {
+        long current = state.get();
+        return (long) available(current) + reserved(current);
+    }
+
+    /**
+     * Reserve chips for a stake.
+     *
+     * @param chips chips of the stake
+     * @return false if there are not enough chips available, nothing is reserved then
+     */
+    public boolean reserve(int chips) {
+        if (chips <= 0) {
+            throw new IllegalArgumentException("Invalid stake " + chips);
+        }
+        while (true) {
+            long current = state.get();
+            int available = available(current);
+            if (available < chips) {
+                return false;
+            }
+            long next = pack(available - chips, Math.addExact(reserved(current), chips));
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Settle a reserved stake: take it off the reserved chips and credit the
+     * payout to the available chips, in one step.
+     *
+     * @param stake  chips reserved for the stake
+     * @param payout chips paid back, including the stake, 0 if it was lost
+     */
+    public void settle(int stake, int payout) {
+        if (stake < 0 || payout < 0) {
+            throw new IllegalArgumentException("Invalid stake " + stake + " or payout " + payout);
+        }
+        while (true) {
+            long current = state.get();
+            int reserved = reserved(current);
+            if (reserved < stake) {
+                throw new IllegalStateException("Settling " + stake + " chips with " + reserved + " chips reserved");
+            }
+            long next = pack(Math.addExact(available(current), payout), reserved - stake);
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param chips chips added to the available chips
+     */
+    public void credit(int chips) {
+        if (chips < 0) {
+            throw new IllegalArgumentException("Invalid credit " + chips);
+        }
+        while (true) {
+            long current = state.get();
+            long next = pack(Math.addExact(available(current), chips), reserved(current));
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param chips chips taken from the available chips
+     * @return false if there are not enough chips available, nothing is taken then
+     */
+    public boolean debit(int chips) {
+        if (chips < 0) {
+            throw new IllegalArgumentException("Invalid debit " + chips);
+        }
+        while (true) {
+            long current = state.get();
+            int available = available(current);
+            if (available < chips) {
+                return false;
+            }
+            if (state.compareAndSet(current, pack(available - chips, reserved(current)))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Replace both amounts e.g. to restore a table snapshot or top up a
+     * simulated bankroll. Not meant for a ledger in use at other tables.
+     *
+     * @param available chips available
+     * @param reserved  chips reserved
+     */
+    void reset(int available, int reserved) {
+        if (available < 0 || reserved < 0) {
+            throw new IllegalArgumentException("Invalid chips " + available + " or reserved " + reserved);
+        }
+        state.set(pack(available, reserved));
+    }
+}
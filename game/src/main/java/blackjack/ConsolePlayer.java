@@ -0,0 +1,167 @@
+package blackjack;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+
+/**
+ * ConsolePlayer is the interactive player. It prompts the user on the
+ * console for the bet, the hand options and whether to play another hand
+ * and validates the input before handing it back to the game.
+ * <p/>
+ * It reads and prints to the console unless given the streams of e.g. a
+ * table session connection. Once the input ends, e.g. when the connection
+ * is closed or times out, reading throws NoSuchElementException.
+ */
+
+public class ConsolePlayer implements BetStrategy, ActionStrategy {
+
+    // Prompts shared with the table sessions of the SelectorServer
+    static final String INVALID_BET = " Invalid Bet. Please place your bet: ";
+
+    static final String INVALID_OPTION = "\nInvalid option selection. Please input (1) to Hit, (2) to Stand and (3) to Split: ";
+
+    static final String NO_CHIPS_TO_SPLIT = "You don't have enough chips to match the bet.";
+
+    static final String CANT_SPLIT = "You can't split! Please input (1) to Hit, (2) to Stand: ";
+
+    static final String ANOTHER_HAND = "\nDo you like to play a new Hand? (Y / N)? ";
+
+    /**
+     * Scanner to scan user input
+     */
+    private Scanner scan;
+
+    /**
+     * Stream the prompts are printed to
+     */
+    private PrintStream out;
+
+    public ConsolePlayer() {
+        this(System.in, System.out);
+    }
+
+    /**
+     * @param in  stream the player's input is read from
+     * @param out stream the prompts are printed to
+     */
+    public ConsolePlayer(InputStream in, PrintStream out) {
+        this.scan = new Scanner(in);
+        this.out = out;
+    }
+
+    PrintStream getOut() {
+        return out;
+    }
+
+    static void printBetPrompt(PrintStream out, int chips) {
+        out.println("=========================================================================================");
+
+        out.print(" You have " + chips + " chips available \n");
+        out.print(" Please place your bet (No. of Chips): ");
+    }
+
+    static void printInvalidBetAmount(PrintStream out, int chips) {
+        out.print("\n Invalid Bet Amount! Please place more than 0 and less than " + chips + " chips: ");
+    }
+
+    static void printOptions(PrintStream out) {
+        out.println("=====================");
+        out.println("| Hand Options      |");
+        out.println("=====================");
+        out.println("| Press 1 to Hit    |");
+        out.println("| Press 2 to Stand  |");
+        out.println("| Press 3 to Split  |");
+        out.println("=====================");
+        out.print("Your Option: ");
+    }
+
+    /**
+     * Ask the player to place the bet and check if the input is valid.
+     */
+    public int placeBet(int chips) {
+        printBetPrompt(out, chips);
+
+        while (!hasNextInt()) {
+            scan.next();
+            out.print(INVALID_BET);
+        }
+
+        int bet = scan.nextInt();
+
+
+        while (bet <= 0 || bet > chips) {
+            printInvalidBetAmount(out, chips);
+            while (!hasNextInt()) {
+                scan.next();
+                printInvalidBetAmount(out, chips);
+            }
+            bet = scan.nextInt();
+        }
+
+        return bet;
+    }
+
+    /**
+     * Give player the options to play the hand i.e. either
+     * Hit, Stand or Split
+     *
+     * @param hand Player hand that is effective, could be split hand or the first hand
+     * @return Player's selection
+     */
+    public HandOptions chooseOption(PlayerHand hand, Card dealerUpCard, int chips) {
+        printOptions(out);
+
+        while (!hasNextInt()) {
+            scan.next();
+            out.print(INVALID_OPTION);
+        }
+
+        int input = scan.nextInt();
+
+        while (input != HandOptions.HIT.getValue() && input != HandOptions.STAND.getValue() && input != HandOptions.SPLIT.getValue()) {
+            out.print(INVALID_OPTION);
+            while (!hasNextInt()) {
+                scan.next();
+            }
+            input = scan.nextInt();
+        }
+
+        // Keep asking until the input is Hit, Stand or a legal Split
+        while (input != HandOptions.HIT.getValue() && input != HandOptions.STAND.getValue()
+                && !(input == HandOptions.SPLIT.getValue() && hand.canSplit() && chips >= hand.getBet())) {
+            if (input == HandOptions.SPLIT.getValue() && chips < hand.getBet()) {
+                out.println(NO_CHIPS_TO_SPLIT);
+            }
+            out.print(CANT_SPLIT);
+            while (!hasNextInt()) {
+                scan.next();
+            }
+            input = scan.nextInt();
+            out.println(" ");
+
+        }
+
+        return HandOptions.fromValue(input);
+
+    }
+
+    /**
+     * Ask the player if they want to continue
+     *
+     * @return true if the player wants to play a new hand
+     */
+    public boolean playAnotherHand() {
+        out.print(ANOTHER_HAND);
+        out.flush();
+        return scan.next().trim().equalsIgnoreCase("Y");
+    }
+
+    /**
+     * Write out the prompts before waiting for the player's input
+     */
+    private boolean hasNextInt() {
+        out.flush();
+        return scan.hasNextInt();
+    }
+}
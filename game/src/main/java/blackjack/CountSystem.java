@@ -0,0 +1,61 @@
+package blackjack;
+
+/**
+ * This Enum represents the card counting systems supported by the
+ * CountTracker. Each system assigns a tag to every card value which is
+ * added to the running count when the card leaves the shoe.
+ * <p/>
+ * The tags are precomputed per CardType ordinal so that counting a card is
+ * a single array lookup.
+ */
+
+public enum CountSystem {
+
+    //        Card value: 2  3  4  5  6  7  8  9  10 ACE
+    HI_LO(true, new int[]{1, 1, 1, 1, 1, 0, 0, 0, -1, -1}),
+    KO(false, new int[]{1, 1, 1, 1, 1, 1, 0, 0, -1, -1}),
+    OMEGA_II(true, new int[]{1, 1, 2, 2, 2, 1, 0, -1, -2, 0});
+
+    /**
+     * A balanced system adds up to 0 over a complete deck and starts at 0.
+     */
+    private boolean balanced;
+
+    /**
+     * Tag of each CardType, indexed by ordinal
+     */
+    private int[] tags;
+
+    private CountSystem(boolean balanced, int[] tagsByValue) {
+        this.balanced = balanced;
+        CardType[] types = CardType.values();
+        tags = new int[types.length];
+        for (CardType type : types) {
+            tags[type.ordinal()] = tagsByValue[type.getValue() - 2];
+        }
+    }
+
+    /**
+     * @param cardType type of a card
+     * @return tag of the card
+     */
+    public int getTag(CardType cardType) {
+        return tags[cardType.ordinal()];
+    }
+
+    /**
+     * Starting running count. An unbalanced system starts below 0 so that
+     * the running count reaches its key count at the same point for any
+     * number of decks.
+     *
+     * @param decks number of decks in the shoe
+     * @return running count right after a shuffle
+     */
+    public int getInitialCount(int decks) {
+        return balanced ? 0 : 4 - 4 * decks;
+    }
+
+    public boolean isBalanced() {
+        return balanced;
+    }
+}
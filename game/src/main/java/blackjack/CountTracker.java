@@ -0,0 +1,103 @@
+package blackjack;
+
+/**
+ * CountTracker keeps the running count of a shoe as the cards leave it.
+ * BlackJack calls count for every card it deals, whether the card goes to
+ * the player, a split hand or the dealer.
+ * <p/>
+ * The running count is a single int updated with the precomputed tag of
+ * the card and the true count divides it by the decks left in the shoe,
+ * so both are available in constant time. The count starts over whenever
+ * the shoe is shuffled, from the cards that are still out of the shoe: none
+ * after a full shuffle, the cards of the current round when the shoe ran
+ * out mid-round and recycled the earlier rounds.
+ */
+
+public class CountTracker {
+
+    private CountSystem system;
+
+    private Shoe shoe;
+
+    /**
+     * Tag of each CardType, indexed by ordinal
+     */
+    private int[] tags;
+
+    private int runningCount;
+
+    /**
+     * Shuffles of the shoe when the count was last started
+     */
+    private long shuffles = -1;
+
+    /**
+     * @param system counting system
+     * @param shoe   shoe which is counted
+     */
+    public CountTracker(CountSystem system, Shoe shoe) {
+        this.system = system;
+        this.shoe = shoe;
+        CardType[] types = CardType.values();
+        tags = new int[types.length];
+        for (CardType type : types) {
+            tags[type.ordinal()] = system.getTag(type);
+        }
+    }
+
+    /**
+     * Count a card that left the shoe
+     *
+     * @param card dealt card
+     */
+    public void count(Card card) {
+        // The card was dealt already, it is counted below
+        checkShuffle(1);
+        runningCount += tags[card.getCardType().ordinal()];
+    }
+
+    public int getRunningCount() {
+        checkShuffle(0);
+        return runningCount;
+    }
+
+    /**
+     * Continue counting from a saved running count of the shoe as it is now,
+     * see BlackJack.restore().
+     *
+     * @param runningCount saved running count
+     */
+    void setRunningCount(int runningCount) {
+        shuffles = shoe.getShuffles();
+        this.runningCount = runningCount;
+    }
+
+    /**
+     * @return running count per deck left in the shoe
+     */
+    public double getTrueCount() {
+        checkShuffle(0);
+        int remaining = shoe.remaining();
+        return remaining == 0 ? runningCount : runningCount * (double) Shoe.DECK_SIZE / remaining;
+    }
+
+    public CountSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * Start the count over if the shoe was shuffled since the last card,
+     * counting the cards still out of the shoe, see Shoe.recycle.
+     *
+     * @param pending cards just dealt which the caller counts itself
+     */
+    private void checkShuffle(int pending) {
+        if (shuffles != shoe.getShuffles()) {
+            shuffles = shoe.getShuffles();
+            runningCount = system.getInitialCount(shoe.getDecks());
+            for (int i = shoe.dealt() - pending - 1; i >= 0; i--) {
+                runningCount += tags[Card.of(shoe.dealtCode(i)).getCardType().ordinal()];
+            }
+        }
+    }
+}
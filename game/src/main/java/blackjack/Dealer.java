@@ -0,0 +1,70 @@
+package blackjack;
+
+/**
+ * The main purpose of this class is to return a new DealerHand
+ * whenever a new hand is initialized or played.
+ * <p/>
+ * The class consists of a current dealer hand and also holds
+ * the history of hands played by the dealer.
+ * <p/>
+ * Though history of hands is not being used anywhere for the time
+ * being but can provide information as to how the dealer performed.
+ */
+
+public class Dealer {
+
+    /**
+     * History of hands played by the dealer. Updated once
+     * a hand is evaluated.
+     */
+    private HandHistory<DealerHand> hands;
+
+    /**
+     * Current Hand of the Dealer
+     */
+    private DealerHand currentHand;
+
+    Dealer() {
+        this(Player.HISTORY_SIZE);
+    }
+
+    /**
+     * @param historySize number of recent hands to keep, 0 to only keep the
+     *                    count of wins, losses and ties
+     */
+    Dealer(int historySize) {
+        hands = new HandHistory<DealerHand>(historySize);
+    }
+
+    /**
+     * This method always sets or initializes the currentHand
+     * and returns. Unless the history keeps the hands, the current
+     * hand is emptied and reused instead of creating a new one.
+     *
+     * @return currentHand
+     */
+    public DealerHand initializeCurrentHand() {
+        if (currentHand != null && !hands.keepsHands()) {
+            currentHand.reset();
+        } else {
+            currentHand = new DealerHand();
+        }
+        return currentHand;
+    }
+
+    /**
+     * Once a hand in the game is evaluated. Add dealer's
+     * to the history.
+     *
+     * @param hand
+     * @param chips chips won (positive) or lost (negative) by the dealer
+     */
+    public void addHand(DealerHand hand, int chips) {
+        hands.add(hand, chips);
+    }
+
+    public HandHistory<DealerHand> getHistory() {
+        return hands;
+    }
+}
+
@@ -0,0 +1,74 @@
+package blackjack;
+
+import java.io.PrintStream;
+
+
+/**
+ * DealerHand represents the Hand of a dealer and inherits from
+ * the Hand class. The class is constructed to differentiate
+ * displaying a dealer's hand and his / her face up card.
+ */
+
+public class DealerHand extends Hand {
+
+
+    public DealerHand() {
+        super();
+    }
+
+    /**
+     * Print dealer's face up card while the player continues to play.
+     */
+    public void printFaceUpCard() {
+        printFaceUpCard(System.out);
+    }
+
+    /**
+     * Print dealer's face up card to the given stream
+     *
+     * @param out stream to print to
+     */
+    public void printFaceUpCard(PrintStream out) {
+        out.println("=====================");
+        out.println("| Dealer Hand       |");
+        out.println("=====================");
+
+        out.println("Dealer Face Up Card - " + getFaceUpCard());
+    }
+
+    /**
+     * @return dealer's face up card i.e. the first card dealt to the dealer
+     */
+    public Card getFaceUpCard() {
+        return cards.get(0);
+    }
+
+
+    /**
+     * Print dealer's complete hand including cards in a hand and
+     * the value of the hand.
+     * <p/>
+     * It also prints result whether dealer won or lost if the hand
+     * has been evaluated.
+     */
+    @Override
+    public void printHand(PrintStream out) {
+        out.println("====================================");
+        out.println("| Dealer Hand                      |");
+        out.println("====================================");
+
+        for (Card c : cards) {
+            out.print(c.toString());
+            out.print(": ");
+        }
+        out.print(" Hand Value: ");
+        out.print(handValue);
+
+        if (result != 'N') {
+            out.print(" : Result: ");
+            out.print(result == 1 ? "W" : "L");
+        }
+
+        out.println();
+    }
+}
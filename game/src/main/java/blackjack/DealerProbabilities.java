@@ -0,0 +1,378 @@
+package blackjack;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DealerProbabilities computes the exact probabilities of the dealer's final
+ * hand for a given face up card and the cards left in the shoe. The dealer
+ * draws the same way as BlackJack.performDealerHits i.e. takes a hit as long
+ * as the hand value is below 17, and on a soft 17 if the dealer hits soft 17.
+ * <p/>
+ * The cards are grouped by rank since only the value of a card matters to the
+ * dealer: index 0 holds the aces, 1 to 8 the twos to nines and 9 all the cards
+ * valued 10. A composition is an array of the count of cards left of every rank.
+ * <p/>
+ * Computed distributions are kept in a least recently used cache per face up
+ * card keyed by the composition packed in a long, so a repeated query costs a
+ * single lookup in an open addressing table of longs, without boxing the key.
+ * The distributions returned are shared by the cache and must not be
+ * modified. The caches may be used by several threads, e.g. the parallel
+ * tasks of an ExpectedValueCalculator.
+ */
+
+public class DealerProbabilities {
+
+    /**
+     * Index of the dealer outcomes in a distribution. Final totals 17 to 21
+     * are at indexes 0 to 4.
+     */
+    static final int BUST = 5;
+
+    static final int BLACKJACK = 6;
+
+    static final int OUTCOMES = 7;
+
+    /**
+     * Number of ranks in a composition
+     */
+    static final int RANKS = 10;
+
+    /**
+     * Index of the cards valued 10 in a composition
+     */
+    static final int TEN = 9;
+
+    /**
+     * The counts of ACE to NINE are packed in 6 bits each and the count of
+     * tens in 9 bits, enough for a shoe of 15 decks. The sign bit is never set.
+     */
+    private static final int BITS = 6;
+
+    private static final int MAX_COUNT = (1 << BITS) - 1;
+
+    private static final int MAX_TENS = (1 << (63 - TEN * BITS)) - 1;
+
+    /**
+     * Cache per dealer face up card rank
+     */
+    private final DistributionCache[] caches = new DistributionCache[RANKS];
+
+    /**
+     * True if the dealer takes a hit on a soft 17
+     */
+    private final boolean hitSoft17;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxEntries maximum number of distributions cached per face up card
+     */
+    public DealerProbabilities(int maxEntries) {
+        this(maxEntries, false);
+    }
+
+    /**
+     * @param maxEntries maximum number of distributions cached per face up card
+     * @param hitSoft17  true if the dealer takes a hit on a soft 17
+     */
+    public DealerProbabilities(int maxEntries, boolean hitSoft17) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Invalid cache size " + maxEntries);
+        }
+        this.hitSoft17 = hitSoft17;
+        for (int i = 0; i < RANKS; i++) {
+            caches[i] = new DistributionCache(maxEntries);
+        }
+    }
+
+    /**
+     * @param cardType type of a card
+     * @return rank of the card in a composition
+     */
+    static int rank(CardType cardType) {
+        return cardType == CardType.ACE ? 0 : cardType.getValue() - 1;
+    }
+
+    /**
+     * Probabilities of the dealer's final hand. The face up card must not be
+     * part of the composition.
+     *
+     * @param upCard      dealer's face up card
+     * @param composition count of the cards left of every rank
+     * @return probability of every outcome, indexed by total - 17, BUST and BLACKJACK
+     */
+    public double[] distribution(CardType upCard, int[] composition) {
+        return distribution(rank(upCard), composition);
+    }
+
+    /**
+     * @param upRank      rank of the dealer's face up card
+     * @param composition count of the cards left of every rank
+     * @return probability of every outcome, indexed by total - 17, BUST and BLACKJACK
+     */
+    double[] distribution(int upRank, int[] composition) {
+        long key = pack(composition);
+        if (key == -1) {
+            return compute(upRank, composition, hitSoft17);
+        }
+
+        DistributionCache cache = caches[upRank];
+        double[] distribution;
+        synchronized (cache) {
+            distribution = cache.get(key);
+        }
+        if (distribution != null) {
+            hits.increment();
+            return distribution;
+        }
+
+        misses.increment();
+        distribution = compute(upRank, composition, hitSoft17);
+        synchronized (cache) {
+            cache.put(key, distribution);
+        }
+        return distribution;
+    }
+
+    /**
+     * Compute the distribution of a dealer standing on all 17s without the cache.
+     */
+    static double[] compute(int upRank, int[] composition) {
+        return compute(upRank, composition, false);
+    }
+
+    /**
+     * Compute the distribution without the cache.
+     */
+    static double[] compute(int upRank, int[] composition, boolean hitSoft17) {
+        int[] cards = composition.clone();
+        int total = 0;
+        for (int count : cards) {
+            total += count;
+        }
+        double[] distribution = new double[OUTCOMES];
+        draw(upRank + 1, upRank == 0 ? 1 : 0, 1, cards, total, 1.0, hitSoft17, distribution);
+        return distribution;
+    }
+
+    /**
+     * Add the probability of every final hand reachable from the given hand.
+     * A card is taken out of the composition while drawing and put back
+     * afterwards.
+     *
+     * @param hardTotal   hard total of the dealer's hand
+     * @param aces        aces in the dealer's hand
+     * @param count       number of cards in the dealer's hand
+     * @param cards       count of the cards left of every rank
+     * @param total       number of cards left
+     * @param probability probability of reaching this hand
+     * @param hitSoft17   true if the dealer takes a hit on a soft 17
+     * @param outcomes    probabilities of the final hands
+     */
+    private static void draw(int hardTotal, int aces, int count, int[] cards, int total,
+                             double probability, boolean hitSoft17, double[] outcomes) {
+        int value = Hand.valueOf(hardTotal, aces);
+        if (count == 2 && hardTotal + 10 * aces == 21) {
+            outcomes[BLACKJACK] += probability;
+            return;
+        }
+        if (value >= 17 && !(hitSoft17 && value == 17 && value > hardTotal)) {
+            outcomes[value > 21 ? BUST : value - 17] += probability;
+            return;
+        }
+        if (total == 0) {
+            // No cards left to draw, the shoe would be reshuffled. Treat it as a bust.
+            outcomes[BUST] += probability;
+            return;
+        }
+
+        for (int rank = 0; rank < RANKS; rank++) {
+            int left = cards[rank];
+            if (left == 0) {
+                continue;
+            }
+            cards[rank]--;
+            draw(hardTotal + rank + 1, rank == 0 ? aces + 1 : aces, count + 1, cards, total - 1,
+                    probability * left / total, hitSoft17, outcomes);
+            cards[rank]++;
+        }
+    }
+
+    /**
+     * Pack a composition in a long.
+     *
+     * @return packed composition or -1 if a count doesn't fit
+     */
+    static long pack(int[] composition) {
+        long key = 0;
+        for (int rank = 0; rank < TEN; rank++) {
+            int count = composition[rank];
+            if (count < 0 || count > MAX_COUNT) {
+                return -1;
+            }
+            key |= (long) count << (rank * BITS);
+        }
+        int tens = composition[TEN];
+        if (tens < 0 || tens > MAX_TENS) {
+            return -1;
+        }
+        return key | (long) tens << (TEN * BITS);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Least recently used distributions by packed composition. The entries
+     * are kept in arrays and linked from the most to the least recently used
+     * by index, and found through an open addressing table of entry indexes
+     * plus one, 0 being an empty slot. Not synchronized.
+     */
+    private static class DistributionCache {
+
+        private final int maxEntries;
+
+        private long[] keys = new long[16];
+
+        private double[][] values = new double[keys.length][];
+
+        /**
+         * Neighbours of every entry in the recently used order, -1 for none
+         */
+        private int[] newer = new int[keys.length];
+
+        private int[] older = new int[keys.length];
+
+        private int newest = -1;
+
+        private int oldest = -1;
+
+        private int size;
+
+        private int[] table = new int[2 * keys.length];
+
+        DistributionCache(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        /**
+         * @return the distribution of the composition, null if not cached
+         */
+        double[] get(long key) {
+            int entry = table[slot(key)] - 1;
+            if (entry < 0) {
+                return null;
+            }
+            touch(entry);
+            return values[entry];
+        }
+
+        void put(long key, double[] distribution) {
+            int slot = slot(key);
+            int entry = table[slot] - 1;
+            if (entry >= 0) {
+                // Computed by another thread meanwhile
+                values[entry] = distribution;
+                touch(entry);
+                return;
+            }
+            if (size == maxEntries) {
+                entry = oldest;
+                unlink(entry);
+                remove(slot(keys[entry]));
+                slot = slot(key);
+            } else {
+                if (size == keys.length) {
+                    grow();
+                    slot = slot(key);
+                }
+                entry = size++;
+            }
+            keys[entry] = key;
+            values[entry] = distribution;
+            table[slot] = entry + 1;
+            link(entry);
+        }
+
+        private int slot(long key) {
+            int mask = table.length - 1;
+            int slot = home(key, mask);
+            while (table[slot] != 0 && keys[table[slot] - 1] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static int home(long key, int mask) {
+            return (int) (key * 0x9E3779B97F4A7C15L >>> 40) & mask;
+        }
+
+        /**
+         * Empty the slot and shift back the entries probed past it, so no
+         * other key is cut off from its home slot.
+         */
+        private void remove(int slot) {
+            int mask = table.length - 1;
+            int hole = slot;
+            for (int i = (slot + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+                int home = home(keys[table[i] - 1], mask);
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    table[hole] = table[i];
+                    hole = i;
+                }
+            }
+            table[hole] = 0;
+        }
+
+        private void grow() {
+            int length = (int) Math.min(2L * keys.length, maxEntries);
+            keys = Arrays.copyOf(keys, length);
+            values = Arrays.copyOf(values, length);
+            newer = Arrays.copyOf(newer, length);
+            older = Arrays.copyOf(older, length);
+            table = new int[Integer.highestOneBit(2 * length - 1) << 1];
+            for (int entry = 0; entry < size; entry++) {
+                table[slot(keys[entry])] = entry + 1;
+            }
+        }
+
+        private void touch(int entry) {
+            if (entry != newest) {
+                unlink(entry);
+                link(entry);
+            }
+        }
+
+        private void link(int entry) {
+            newer[entry] = -1;
+            older[entry] = newest;
+            if (newest >= 0) {
+                newer[newest] = entry;
+            } else {
+                oldest = entry;
+            }
+            newest = entry;
+        }
+
+        private void unlink(int entry) {
+            if (newer[entry] >= 0) {
+                older[newer[entry]] = older[entry];
+            } else {
+                newest = older[entry];
+            }
+            if (older[entry] >= 0) {
+                newer[older[entry]] = newer[entry];
+            } else {
+                oldest = newer[entry];
+            }
+        }
+    }
+}
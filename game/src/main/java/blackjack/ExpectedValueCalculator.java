@@ -0,0 +1,395 @@
+package blackjack;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ExpectedValueCalculator computes the exact expected value of every
+ * HandOptions choice for a player hand, given the dealer's face up card and
+ * the cards left in the shoe (see DealerProbabilities for the composition).
+ * The expected values are in units of the hand's bet and follow the
+ * evaluation of BlackJack.evaluateHand and the table's Rules, e.g. a BlackJack
+ * pays 1 to 1 unless the rules say otherwise. Doubling draws a single card for
+ * twice the bet and a surrender returns half the bet unless the dealer has a
+ * BlackJack. Insurance is not evaluated.
+ * <p/>
+ * Hitting is evaluated by going through every card that can be drawn and
+ * playing the best option afterwards. The hand after a set of drawn cards is
+ * the same whatever the order they were drawn in, so the expected value of
+ * every set of drawn cards is only computed once. The dealer's probabilities
+ * come from a shared DealerProbabilities cache.
+ * <p/>
+ * A split is evaluated like BlackJack.split i.e. both hands get one card
+ * and a BlackJack on a split hand is paid like any other win. Split aces get
+ * that single card only unless the rules let them be hit, and a split hand
+ * may be doubled down if the rules allow a double after a split.
+ * Re-splitting allowed by the rules is not evaluated, the split hands are
+ * played as if they can't be split again.
+ * The two hands are assumed to be played from the same composition, so the
+ * expected value of a split is twice the value of a single split hand.
+ * <p/>
+ * Hit and split are evaluated in parallel on the common fork/join pool.
+ * <p/>
+ * Computing the dealer's probabilities for every set of cards the player may
+ * draw is what makes an exact evaluation expensive, up to a few hundred
+ * milliseconds for a small hand against an ACE. For interactive hints the
+ * calculator can instead take the dealer's probabilities once, from the
+ * composition when the decision is made, and ignore the effect of the cards
+ * the player draws afterwards on the dealer's hand. An evaluation then
+ * needs a single dealer distribution and answers in well under a
+ * millisecond, while the values change by a fraction of a percent.
+ */
+
+public class ExpectedValueCalculator {
+
+    /**
+     * Bits used per rank when packing the cards drawn in a long
+     */
+    private static final int BITS = 6;
+
+    private DealerProbabilities dealer;
+
+    /**
+     * False to take the dealer's probabilities from the composition when the
+     * decision is made only
+     */
+    private boolean exact;
+
+    /**
+     * Chips won by a BlackJack for every chip bet
+     */
+    private double blackJackPayout;
+
+    /**
+     * True if split aces are played like any other hand
+     */
+    private boolean hitSplitAces;
+
+    /**
+     * Hand values that may be doubled down, after a split too if doubleAfterSplit
+     */
+    private Rules.DoubleDown doubleDown;
+
+    private boolean doubleAfterSplit;
+
+    /**
+     * @param dealer computes and caches the dealer's probabilities
+     * @param exact  true to compute the dealer's probabilities for every set
+     *               of cards drawn by the player
+     */
+    public ExpectedValueCalculator(DealerProbabilities dealer, boolean exact) {
+        this(dealer, exact, new Rules());
+    }
+
+    /**
+     * @param dealer computes and caches the dealer's probabilities, for the
+     *               dealer rules of the table
+     * @param exact  true to compute the dealer's probabilities for every set
+     *               of cards drawn by the player
+     * @param rules  rules of the table, read when the calculator is created
+     */
+    public ExpectedValueCalculator(DealerProbabilities dealer, boolean exact, Rules rules) {
+        this.dealer = dealer;
+        this.exact = exact;
+        this.blackJackPayout = (double) rules.getBlackJackWin() / rules.getBlackJackBet();
+        this.hitSplitAces = rules.isHitSplitAces();
+        this.doubleDown = rules.getDoubleDown();
+        this.doubleAfterSplit = rules.isDoubleAfterSplit();
+    }
+
+    /**
+     * @param hand         player hand to evaluate
+     * @param dealerUpCard dealer's face up card
+     * @param composition  count of the cards left of every rank, including
+     *                     the dealer's hole card and excluding the face up card
+     * @param canSplit     true if the hand can be split
+     * @return expected value of every HandOptions indexed by ordinal, NaN if an
+     * option is not available
+     */
+    public double[] evaluate(PlayerHand hand, Card dealerUpCard, int[] composition, boolean canSplit) {
+        return evaluate(hand, dealerUpCard, composition, canSplit, false, false);
+    }
+
+    /**
+     * @param hand         player hand to evaluate
+     * @param dealerUpCard dealer's face up card
+     * @param composition  count of the cards left of every rank, including
+     *                     the dealer's hole card and excluding the face up card
+     * @param canSplit     true if the hand can be split
+     * @param canDouble    true if the hand can be doubled
+     * @param canSurrender true if the hand can be surrendered
+     * @return expected value of every HandOptions indexed by ordinal, NaN if an
+     * option is not available
+     */
+    public double[] evaluate(PlayerHand hand, Card dealerUpCard, final int[] composition, boolean canSplit,
+                             boolean canDouble, boolean canSurrender) {
+        final int upRank = DealerProbabilities.rank(dealerUpCard.getCardType());
+        final int hardTotal = hand.getHardTotal();
+        final int aces = hand.getAces();
+        final int count = hand.getCards().size();
+
+        double[] values = new double[HandOptions.values().length];
+        Arrays.fill(values, Double.NaN);
+        final double[] outcomes = dealer.distribution(upRank, composition);
+        values[HandOptions.STAND.ordinal()] = stand(outcomes, hand.getHandValue(), hand.isBlackJack());
+        if (hand.isBlackJack() && !hand.isSplit()) {
+            // A BlackJack of a split hand is paid like any other win
+            values[HandOptions.STAND.ordinal()] = blackJackPayout * (1 - outcomes[DealerProbabilities.BLACKJACK]);
+        }
+        if (canSurrender) {
+            double dealerBlackJack = outcomes[DealerProbabilities.BLACKJACK];
+            values[HandOptions.SURRENDER.ordinal()] = -0.5 * (1 - dealerBlackJack) - dealerBlackJack;
+        }
+        if (canDouble) {
+            values[HandOptions.DOUBLE.ordinal()] = 2 * new Evaluation(upRank, composition, outcomes)
+                    .drawOne(hardTotal, aces, count);
+        }
+
+        RecursiveTask<Double> hit = new RecursiveTask<Double>() {
+            protected Double compute() {
+                return new Evaluation(upRank, composition, outcomes).hit(hardTotal, aces, count, 0);
+            }
+        };
+
+        if (!canSplit) {
+            values[HandOptions.HIT.ordinal()] = hit.invoke();
+            return values;
+        }
+
+        final int pairRank = DealerProbabilities.rank(hand.getCards().get(0).getCardType());
+        RecursiveTask<Double> split = new RecursiveTask<Double>() {
+            protected Double compute() {
+                return 2 * new Evaluation(upRank, composition, outcomes).split(pairRank);
+            }
+        };
+        ForkJoinTask.invokeAll(hit, split);
+
+        values[HandOptions.HIT.ordinal()] = hit.join();
+        values[HandOptions.SPLIT.ordinal()] = split.join();
+        return values;
+    }
+
+    /**
+     * Expected value of standing.
+     *
+     * @param outcomes  probabilities of the dealer's final hand
+     * @param value     value of the player hand
+     * @param blackJack true if the player hand is a BlackJack
+     */
+    static double stand(double[] outcomes, int value, boolean blackJack) {
+        if (value > 21) {
+            return -1;
+        }
+        if (blackJack) {
+            return 1 - outcomes[DealerProbabilities.BLACKJACK];
+        }
+
+        // A dealer BlackJack counts as 21 against a hand that is not a BlackJack
+        double ev = outcomes[DealerProbabilities.BUST];
+        for (int total = 17; total <= 21; total++) {
+            double probability = total == 21
+                    ? outcomes[total - 17] + outcomes[DealerProbabilities.BLACKJACK]
+                    : outcomes[total - 17];
+            if (value > total) {
+                ev += probability;
+            } else if (value < total) {
+                ev -= probability;
+            }
+        }
+        return ev;
+    }
+
+    /**
+     * State of a single evaluation. Not shared between threads.
+     */
+    private class Evaluation {
+
+        private int upRank;
+
+        /**
+         * Count of the cards left of every rank. Cards are taken out while
+         * drawing and put back afterwards.
+         */
+        private int[] cards;
+
+        private int total;
+
+        /**
+         * Dealer's probabilities when the decision is made
+         */
+        private double[] outcomes;
+
+        /**
+         * Expected value of the best option by cards drawn, kept in an open
+         * addressing table. Empty slots hold the key -1.
+         */
+        private long[] keys = new long[1 << 12];
+
+        private double[] memo = new double[keys.length];
+
+        private int size;
+
+        /**
+         * True while evaluating a split hand
+         */
+        private boolean split;
+
+        Evaluation(int upRank, int[] composition, double[] outcomes) {
+            Arrays.fill(keys, -1);
+            this.upRank = upRank;
+            this.outcomes = outcomes;
+            this.cards = composition.clone();
+            for (int count : cards) {
+                total += count;
+            }
+        }
+
+        /**
+         * Expected value of standing with the current composition
+         */
+        private double stand(int value, boolean blackJack) {
+            return ExpectedValueCalculator.stand(exact ? dealer.distribution(upRank, cards) : outcomes, value, blackJack);
+        }
+
+        /**
+         * Expected value of a split hand, which starts with one card of the pair
+         */
+        double split(int pairRank) {
+            split = true;
+            if (pairRank == 0 && !hitSplitAces) {
+                return drawOne(1, 1, 1);
+            }
+            return draw(pairRank + 1, pairRank == 0 ? 1 : 0, 1, 0);
+        }
+
+        /**
+         * Expected value of drawing a single card and standing, e.g. for a
+         * double down or a split ace.
+         *
+         * @param hardTotal hard total of the hand
+         * @param aces      aces in the hand
+         * @param count     number of cards in the hand
+         */
+        double drawOne(int hardTotal, int aces, int count) {
+            if (total == 0) {
+                return Double.NaN;
+            }
+            double ev = 0;
+            int left = total;
+            for (int rank = 0; rank < DealerProbabilities.RANKS; rank++) {
+                int n = cards[rank];
+                if (n == 0) {
+                    continue;
+                }
+                cards[rank]--;
+                total--;
+                int hard = hardTotal + rank + 1;
+                int withAces = rank == 0 ? aces + 1 : aces;
+                int value = Hand.valueOf(hard, withAces);
+                ev += (double) n / left * (value > 21 ? -1
+                        : stand(value, count == 1 && hard + 10 * withAces == 21));
+                cards[rank]++;
+                total++;
+            }
+            return ev;
+        }
+
+        /**
+         * Expected value of taking a hit and then playing the best option.
+         *
+         * @param hardTotal hard total of the hand
+         * @param aces      aces in the hand
+         * @param count     number of cards in the hand
+         * @param drawn     cards drawn so far, packed by rank
+         */
+        double hit(int hardTotal, int aces, int count, long drawn) {
+            if (total == 0) {
+                return Double.NaN;
+            }
+            return draw(hardTotal, aces, count, drawn);
+        }
+
+        /**
+         * Expected value of drawing a card and then playing the best option
+         */
+        private double draw(int hardTotal, int aces, int count, long drawn) {
+            double ev = 0;
+            int left = total;
+            for (int rank = 0; rank < DealerProbabilities.RANKS; rank++) {
+                int n = cards[rank];
+                if (n == 0) {
+                    continue;
+                }
+                cards[rank]--;
+                total--;
+                ev += (double) n / left * best(hardTotal + rank + 1, rank == 0 ? aces + 1 : aces,
+                        count + 1, drawn + (1L << (rank * BITS)));
+                cards[rank]++;
+                total++;
+            }
+            return ev;
+        }
+
+        /**
+         * Expected value of the best of hit and stand, and of a double down
+         * of a split hand if the rules allow it.
+         */
+        private double best(int hardTotal, int aces, int count, long drawn) {
+            int value = Hand.valueOf(hardTotal, aces);
+            if (value > 21) {
+                return -1;
+            }
+            if (count == 2 && hardTotal + 10 * aces == 21) {
+                return stand(value, true);
+            }
+
+            int slot = slot(drawn);
+            if (keys[slot] == drawn) {
+                return memo[slot];
+            }
+            double ev = stand(value, false);
+            if (total > 0) {
+                ev = Math.max(ev, draw(hardTotal, aces, count, drawn));
+                if (split && count == 2 && doubleAfterSplit && doubleDown.allows(value)) {
+                    ev = Math.max(ev, 2 * drawOne(hardTotal, aces, count));
+                }
+            }
+            put(drawn, ev);
+            return ev;
+        }
+
+        /**
+         * @return slot holding the key or the empty slot where it belongs
+         */
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) (key * 0x9E3779B97F4A7C15L >>> 40) & mask;
+            while (keys[slot] != key && keys[slot] != -1) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void put(long key, double ev) {
+            if (2 * (size + 1) > keys.length) {
+                long[] oldKeys = keys;
+                double[] oldMemo = memo;
+                keys = new long[oldKeys.length * 2];
+                memo = new double[keys.length];
+                Arrays.fill(keys, -1);
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != -1) {
+                        int slot = slot(oldKeys[i]);
+                        keys[slot] = oldKeys[i];
+                        memo[slot] = oldMemo[i];
+                    }
+                }
+            }
+            int slot = slot(key);
+            keys[slot] = key;
+            memo[slot] = ev;
+            size++;
+        }
+    }
+}
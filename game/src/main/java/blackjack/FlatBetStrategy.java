@@ -0,0 +1,19 @@
+package blackjack;
+
+/**
+ * Places the same number of chips on every hand. If the player has fewer
+ * chips left than the unit, the remaining chips are bet.
+ */
+
+public class FlatBetStrategy implements BetStrategy {
+
+    private int unit;
+
+    public FlatBetStrategy(int unit) {
+        this.unit = unit;
+    }
+
+    public int placeBet(int chips) {
+        return Math.min(unit, chips);
+    }
+}
@@ -1,13 +1,18 @@
+package blackjack;
+
 /**
  * Game is simply an entry point into this version of BlackJack.
  * The class contains an instance of a BlackJack class and kicks off the
  * startGame method where all the action is.
+ * <p/>
+ * An optional seed argument deals the same cards on every run.
  */
 
 public class Game {
     public static void main(String[] args) {
 
-        BlackJack b = new BlackJack();
+        Metrics.exportIfEnabled();
+        BlackJack b = args.length > 0 ? new BlackJack(Long.parseLong(args[0])) : new BlackJack();
         b.startGame();
     }
 
@@ -0,0 +1,288 @@
+package blackjack;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+
+/**
+ * This is a generic Hand class which represents a single hand in a BlackJack game.
+ * It is meant to be sub-classed. See PlayerHand and DealerHand.
+ * <p/>
+ * This class provides basic data members and provides generic implementation for
+ * hitting, adjusting aces value based on the hand and if there is a blackjack
+ * at a hand.
+ * <p/>
+ * The value of a hand is kept up to date as cards are added or removed. The hard
+ * total (every ace counted as 1) and the count of aces are updated for every card
+ * and the hand value is then looked up in a table that is computed once for every
+ * combination of hard total and aces.
+ */
+
+public abstract class Hand {
+
+    /**
+     * Hold the cards that are dealt in a hand
+     */
+    protected ArrayList<Card> cards;
+
+    /**
+     * Evaluate and store the value of the hand
+     */
+    int handValue;
+
+    /**
+     * Store the result if the hand was evaluated.
+     */
+    char result;
+
+    /**
+     * Hold aces count in the hand. This count will be used to adjust
+     * the value of aces as required i.e. if an ace should be evaluated
+     * as 1 instead of 11.
+     */
+    int aces;
+
+    /**
+     * Sum of the cards in the hand counting every ace as 1
+     */
+    int hardTotal;
+
+    /**
+     * True if an ace is still being counted as 11
+     */
+    boolean soft;
+
+    Boolean isBlackJack = false;
+
+    /**
+     * Largest hard total and aces count kept in the lookup table. A hand is
+     * never hit once busted so the hard total can't go beyond 31.
+     */
+    static final int MAX_HARD_TOTAL = 31;
+
+    static final int MAX_ACES = 31;
+
+    /**
+     * Flag set on a VALUES entry if an ace is counted as 11
+     */
+    private static final int SOFT = 0x40;
+
+    /**
+     * Hand value of every (hard total, aces) pair, indexed by
+     * hardTotal * (MAX_ACES + 1) + aces. The SOFT flag is set on soft values.
+     */
+    private static final byte[] VALUES = new byte[(MAX_HARD_TOTAL + 1) * (MAX_ACES + 1)];
+
+    static {
+        for (int hard = 0; hard <= MAX_HARD_TOTAL; hard++) {
+            for (int a = 0; a <= MAX_ACES; a++) {
+                int value = computeValue(hard, a);
+                VALUES[hard * (MAX_ACES + 1) + a] = (byte) (value > hard ? value | SOFT : value);
+            }
+        }
+    }
+
+    public Hand() {
+        cards = new ArrayList<Card>();
+        handValue = 0;
+        result = 'N';
+        aces = 0;
+        hardTotal = 0;
+    }
+
+    public void stand() {
+    }
+
+    /**
+     * Empty the hand so it can be dealt again, see BlackJack.newHand. The
+     * list of cards is kept.
+     */
+    void reset() {
+        cards.clear();
+        handValue = 0;
+        result = 'N';
+        aces = 0;
+        hardTotal = 0;
+        soft = false;
+        isBlackJack = false;
+    }
+
+    /**
+     * Add the card from deck to the hand. Compute the new handValue
+     * and aces if needed
+     *
+     * @param newCard taken from the deck
+     */
+    public int hit(Card newCard) {
+        return hit(newCard, System.out);
+    }
+
+    /**
+     * Same as hit but prints the new card and the hand to the given stream
+     * e.g. the connection of a table session.
+     *
+     * @param newCard taken from the deck
+     * @param out     stream to print to
+     */
+    public int hit(Card newCard, PrintStream out) {
+        out.println("\nNew Card " + newCard);
+        addCard(newCard);
+        printHand(out);
+        if (handValue > 21) {
+            return -1;
+        }
+        return 1;
+    }
+
+    public void addCard(Card newCard) {
+        cards.add(newCard);
+        CardType cardType = newCard.getCardType();
+        if (cardType == CardType.ACE) {
+            aces++;
+            hardTotal += 1;
+        } else {
+            hardTotal += cardType.getValue();
+        }
+        setHandValue();
+    }
+
+    /**
+     * This method is called in case of a split where a card is moved from main hand
+     * to a split hand.
+     *
+     * @param index location from which to remove the card
+     * @return fetched Card
+     */
+    public Card removeCard(int index) {
+        Card card = cards.remove(index);
+        CardType cardType = card.getCardType();
+        if (cardType == CardType.ACE) {
+            aces--;
+            hardTotal -= 1;
+        } else {
+            hardTotal -= cardType.getValue();
+        }
+        setHandValue();
+        return card;
+    }
+
+    /**
+     * Compute the new handValue from the hard total and the aces count.
+     * Also calls validateBlackJack which checks if we have a BlackJack.
+     * The value of the aces i.e. 11 or 1 comes from the lookup table.
+     */
+    public void setHandValue() {
+        validateBlackJack();
+        if (hardTotal <= MAX_HARD_TOTAL && aces <= MAX_ACES) {
+            int entry = VALUES[hardTotal * (MAX_ACES + 1) + aces];
+            handValue = entry & ~SOFT;
+            soft = (entry & SOFT) != 0;
+        } else {
+            handValue = computeValue(hardTotal, aces);
+            soft = handValue > hardTotal;
+        }
+    }
+
+    /**
+     * Compute the value of a hand, used to fill the lookup table.
+     * <p/>
+     * Every ace is counted as 11 first. If the sum exceeds 21 and there is an ace
+     * in the hand then aces are counted as 1 one by one until the sum is below 21.
+     *
+     * @param hardTotal sum of the cards counting every ace as 1
+     * @param aces      count of aces in the hand
+     * @return value of the hand
+     */
+    static int computeValue(int hardTotal, int aces) {
+        int value = hardTotal + 10 * aces;
+        if (value > 21 && aces > 0) {
+            for (int i = 0; i < aces; i++) {
+                value -= 10;
+                if (value < 21) break;
+
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @param hardTotal sum of the cards counting every ace as 1
+     * @param aces      count of aces in the hand
+     * @return value of a hand with the given hard total and aces
+     */
+    static int valueOf(int hardTotal, int aces) {
+        if (hardTotal <= MAX_HARD_TOTAL && aces <= MAX_ACES) {
+            return VALUES[hardTotal * (MAX_ACES + 1) + aces] & ~SOFT;
+        }
+        return computeValue(hardTotal, aces);
+    }
+
+    /**
+     * Check if there is a BlackJack i.e. only two cards are dealt and handValue is 21.
+     * This is relevant in the case of a player. For instance, if a player doesn't have a
+     * BlackJack he / she will continue to hit or hand even if dealer has a BlackJack.
+     * <p/>
+     * But if a player has a BlackJack then dealer BlackJack is also validated.
+     */
+    void validateBlackJack() {
+        isBlackJack = cards.size() == 2 && hardTotal + 10 * aces == 21;
+    }
+
+    Boolean isBlackJack() {
+        return isBlackJack;
+    }
+
+    public Boolean isBusted() {
+        return handValue > 21;
+    }
+
+    public void printHand() {
+        printHand(System.out);
+    }
+
+    /**
+     * Print the hand to the given stream
+     *
+     * @param out stream to print to
+     */
+    public void printHand(PrintStream out) {
+    }
+
+    public ArrayList<Card> getCards() {
+        return cards;
+    }
+
+    public int getHandValue() {
+        return handValue;
+    }
+
+    /**
+     * @return true if an ace is counted as 11 in the hand value
+     */
+    public boolean isSoft() {
+        return soft;
+    }
+
+    public int getHardTotal() {
+        return hardTotal;
+    }
+
+    public int getAces() {
+        return aces;
+    }
+
+    public void setHandValue(int handValue) {
+        this.handValue = handValue;
+    }
+
+    public char getResult() {
+        return result;
+    }
+
+    public void setResult(char result) {
+        this.result = result;
+    }
+}
+
+
+
+
@@ -0,0 +1,138 @@
+package blackjack;
+
+/**
+ * HandBatch holds many player hands ready to be settled by a
+ * BatchHandEvaluator, as one array per field instead of one object per hand
+ * so the evaluator can go through them a vector at a time.
+ * <p/>
+ * Only what decides the outcome is kept: the final totals of the player
+ * and dealer hands, whether each was a BlackJack and whether the player
+ * hand was split or surrendered. The evaluator fills in the outcome and the
+ * chip delta of every hand.
+ */
+
+public class HandBatch {
+
+    /**
+     * Bits of the player and dealer flags
+     */
+    static final int BLACKJACK = 1;
+
+    static final int SPLIT = 2;
+
+    static final int SURRENDERED = 4;
+
+    final int[] totals;
+
+    final int[] flags;
+
+    final int[] dealerTotals;
+
+    final int[] dealerFlags;
+
+    final int[] bets;
+
+    /**
+     * Outcome of every hand e.g. RuleTables.WIN, filled by the evaluator
+     */
+    final int[] outcomes;
+
+    /**
+     * Chips won (positive) or lost (negative), filled by the evaluator
+     */
+    final int[] chipDeltas;
+
+    int size;
+
+    /**
+     * @param capacity most hands the batch holds
+     */
+    public HandBatch(int capacity) {
+        totals = new int[capacity];
+        flags = new int[capacity];
+        dealerTotals = new int[capacity];
+        dealerFlags = new int[capacity];
+        bets = new int[capacity];
+        outcomes = new int[capacity];
+        chipDeltas = new int[capacity];
+    }
+
+    /**
+     * Add a hand once the dealer has played.
+     *
+     * @param hand       player hand, standing, busted or a BlackJack
+     * @param dealerHand dealer hand of the round
+     * @return index of the hand in the batch
+     */
+    public int add(PlayerHand hand, DealerHand dealerHand) {
+        int flag = (hand.isBlackJack() ? BLACKJACK : 0) | (hand.isSplit() ? SPLIT : 0)
+                | (hand.isSurrendered() ? SURRENDERED : 0);
+        return add(hand.getHandValue(), flag, dealerHand.getHandValue(),
+                dealerHand.isBlackJack() ? BLACKJACK : 0, hand.getBet());
+    }
+
+    /**
+     * Add the hand of a hand log record, e.g. to settle it again.
+     *
+     * @param record record of an evaluated hand
+     * @return index of the hand in the batch
+     */
+    public int add(HandRecord record) {
+        int flag = (record.isBlackJack() ? BLACKJACK : 0) | (record.isSplit() ? SPLIT : 0)
+                | (record.isSurrendered() ? SURRENDERED : 0);
+        return add(record.getPlayerValue(), flag, record.getDealerValue(),
+                record.isDealerBlackJack() ? BLACKJACK : 0, record.getBet());
+    }
+
+    /**
+     * @param total       value of the player hand
+     * @param flag        BLACKJACK, SPLIT and SURRENDERED bits of the player hand
+     * @param dealerTotal value of the dealer hand
+     * @param dealerFlag  BLACKJACK bit of the dealer hand
+     * @param bet         chips bet on the hand
+     * @return index of the hand in the batch
+     */
+    int add(int total, int flag, int dealerTotal, int dealerFlag, int bet) {
+        if (size == totals.length) {
+            throw new IllegalStateException("Batch is full: " + size + " hands");
+        }
+        totals[size] = total;
+        flags[size] = flag;
+        dealerTotals[size] = dealerTotal;
+        dealerFlags[size] = dealerFlag;
+        bets[size] = bet;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @param index index of an evaluated hand
+     * @return outcome of the hand e.g. RuleTables.WIN
+     */
+    int getOutcome(int index) {
+        return outcomes[index];
+    }
+
+    /**
+     * @param index index of an evaluated hand
+     * @return chips won (positive) or lost (negative) with the hand
+     */
+    public int getChipDelta(int index) {
+        return chipDeltas[index];
+    }
+
+    /**
+     * @param index index of an evaluated hand
+     * @return W, L or T
+     */
+    public char getResult(int index) {
+        return RuleTables.RESULTS[outcomes[index]];
+    }
+}
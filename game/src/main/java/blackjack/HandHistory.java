@@ -0,0 +1,113 @@
+package blackjack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HandHistory keeps the record of the hands played by a player or the
+ * dealer without growing with the number of hands.
+ * <p/>
+ * The count of wins, losses, ties and the net chips are updated as every
+ * hand is added. Optionally the most recent hands are kept in a fixed size
+ * ring buffer, overwriting the oldest hand once it is full. With a size of
+ * 0 only the counts are kept.
+ */
+
+public class HandHistory<T extends Hand> {
+
+    private long hands;
+
+    private long wins;
+
+    private long losses;
+
+    private long ties;
+
+    /**
+     * Chips won (positive) or lost (negative) over all the hands
+     */
+    private long net;
+
+    /**
+     * Most recent hands, recent[next] is the oldest once the buffer is full
+     */
+    private Object[] recent;
+
+    private int next;
+
+    /**
+     * @param size number of recent hands to keep, 0 to keep none
+     */
+    public HandHistory(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("History size can't be negative: " + size);
+        }
+        recent = new Object[size];
+    }
+
+    /**
+     * Add an evaluated hand.
+     *
+     * @param hand  evaluated hand
+     * @param chips chips won (positive) or lost (negative) with the hand
+     */
+    public void add(T hand, int chips) {
+        hands++;
+        net += chips;
+        char result = hand.getResult();
+        if (result == 'W') {
+            wins++;
+        } else if (result == 'L') {
+            losses++;
+        } else if (result == 'T') {
+            ties++;
+        }
+
+        if (recent.length > 0) {
+            recent[next] = hand;
+            next = next + 1 == recent.length ? 0 : next + 1;
+        }
+    }
+
+    /**
+     * @return the recent hands kept, oldest first
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getRecentHands() {
+        List<T> list = new ArrayList<T>();
+        for (int i = 0; i < recent.length; i++) {
+            Object hand = recent[(next + i) % recent.length];
+            if (hand != null) {
+                list.add((T) hand);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * @return true if recent hands are kept, so the hands added must not be reused
+     */
+    public boolean keepsHands() {
+        return recent.length > 0;
+    }
+
+    public long getHands() {
+        return hands;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    public long getNet() {
+        return net;
+    }
+}
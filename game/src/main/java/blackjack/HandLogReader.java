@@ -0,0 +1,138 @@
+package blackjack;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * HandLogReader reads back a hand log written by HandLogWriter. The segments
+ * are memory mapped and the records are passed to the consumer through one
+ * HandRecord view, so replaying a log runs at about the speed of the disk.
+ * A consumer must copy what it needs out of the view, e.g. with
+ * HandRecord.toPlayerHand(), before returning.
+ */
+
+public class HandLogReader {
+
+    /**
+     * Hands settled at once by audit
+     */
+    private static final int AUDIT_BATCH = 4096;
+
+    private final Path directory;
+
+    /**
+     * @param directory directory of the log
+     */
+    public HandLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Pass every record of the log, in the order it was written, to a consumer.
+     *
+     * @param consumer consumer of the records
+     * @return number of records read
+     */
+    public long forEach(Consumer<HandRecord> consumer) {
+        HandRecord record = new HandRecord();
+        long total = 0;
+        for (int segment = 0; Files.exists(HandLogWriter.segmentPath(directory, segment)); segment++) {
+            MappedByteBuffer buffer = map(HandLogWriter.segmentPath(directory, segment));
+            long records = buffer.getLong(HandLogWriter.COUNT);
+            for (int i = 0; i < records; i++) {
+                record.moveTo(buffer, HandLogWriter.HEADER_SIZE + i * HandRecord.SIZE);
+                consumer.accept(record);
+            }
+            total += records;
+        }
+        return total;
+    }
+
+    /**
+     * Replay the log into statistics. Insurance bets are not part of the log.
+     *
+     * @param stats statistics to record the hands in
+     * @return number of records read
+     */
+    public long replay(SimulationStats stats) {
+        // Round of the last record read, and round and spot of the last split
+        // hand read. Every split adds one hand to the spot
+        long[] round = {-1, -1, -1};
+        return forEach(record -> {
+            if (record.getRound() != round[0]) {
+                round[0] = record.getRound();
+                stats.rounds++;
+            }
+            if (record.isSplit()) {
+                if (round[1] == record.getRound() && round[2] == record.getSpot()) {
+                    stats.splits++;
+                }
+                round[1] = record.getRound();
+                round[2] = record.getSpot();
+            }
+            if (record.isDoubled()) {
+                stats.doubles++;
+            }
+            if (record.isSurrendered()) {
+                stats.surrenders++;
+            }
+            stats.record(record.getBet(), record.getChipDelta(), record.getResult(), record.isBlackJack());
+        });
+    }
+
+    /**
+     * Settle every hand of the log again with a BatchHandEvaluator, a batch
+     * at a time, and count the hands whose logged chips differ.
+     *
+     * @param rules rules the hands were played under
+     * @return number of hands settled differently, 0 for a sound log
+     */
+    public long audit(Rules rules) {
+        BatchHandEvaluator evaluator = BatchHandEvaluator.create(rules);
+        HandBatch batch = new HandBatch(AUDIT_BATCH);
+        int[] loggedChips = new int[AUDIT_BATCH];
+        long[] mismatches = {0};
+        forEach(record -> {
+            if (batch.size() == AUDIT_BATCH) {
+                mismatches[0] += settle(evaluator, batch, loggedChips);
+            }
+            loggedChips[batch.add(record)] = record.getChipDelta();
+        });
+        return mismatches[0] + settle(evaluator, batch, loggedChips);
+    }
+
+    /**
+     * @return number of hands of the batch settled differently than logged
+     */
+    private static int settle(BatchHandEvaluator evaluator, HandBatch batch, int[] loggedChips) {
+        evaluator.evaluate(batch);
+        int mismatches = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.getChipDelta(i) != loggedChips[i]) {
+                mismatches++;
+            }
+        }
+        batch.clear();
+        return mismatches;
+    }
+
+    private static MappedByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != HandLogWriter.MAGIC) {
+                throw new IllegalStateException("Not a hand log segment " + path);
+            }
+            if (buffer.getShort(4) != HandLogWriter.VERSION || buffer.getShort(6) != HandRecord.SIZE) {
+                throw new IllegalStateException("Unsupported hand log segment " + path);
+            }
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
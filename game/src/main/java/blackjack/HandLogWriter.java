@@ -0,0 +1,144 @@
+package blackjack;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * HandLogWriter appends the evaluated hands of a table to an append only
+ * binary log. The log is a directory of segment files which are memory
+ * mapped, so appending a hand is a few writes to memory instead of a line of
+ * text through a stream.
+ * <p/>
+ * Each segment starts with a header: the magic BJHL, the format version, the
+ * record size and the number of records in the segment, which is updated
+ * after every record so a log is readable up to the last complete hand even
+ * if the process dies. The records follow the header, see HandRecord. When a
+ * segment is full the writer rolls over to the next one.
+ * <p/>
+ * A writer belongs to one table and is not thread safe.
+ */
+
+public class HandLogWriter implements Closeable {
+
+    static final int MAGIC = 0x424A484C;
+
+    static final int VERSION = 3;
+
+    static final int HEADER_SIZE = 16;
+
+    static final int COUNT = 8;
+
+    static final String SEGMENT = "hands-%06d.log";
+
+    /**
+     * Default number of records in a segment i.e. 64MB segments
+     */
+    static final int SEGMENT_RECORDS = 1 << 20;
+
+    /**
+     * Most records in a segment, a segment being mapped in a single buffer
+     */
+    static final int MAX_SEGMENT_RECORDS = (Integer.MAX_VALUE - HEADER_SIZE) / HandRecord.SIZE;
+
+    private final Path directory;
+
+    private final int segmentRecords;
+
+    private int segment;
+
+    private MappedByteBuffer buffer;
+
+    private int records;
+
+    /**
+     * Create a writer appending to the segments in a directory, starting after
+     * the last existing segment.
+     *
+     * @param directory directory of the log
+     */
+    public HandLogWriter(Path directory) {
+        this(directory, SEGMENT_RECORDS);
+    }
+
+    /**
+     * @param directory      directory of the log
+     * @param segmentRecords number of records in a segment, up to MAX_SEGMENT_RECORDS
+     */
+    public HandLogWriter(Path directory, int segmentRecords) {
+        if (segmentRecords < 1 || segmentRecords > MAX_SEGMENT_RECORDS) {
+            throw new IllegalArgumentException("Invalid segment size " + segmentRecords);
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        try {
+            Files.createDirectories(directory);
+            while (Files.exists(segmentPath(directory, segment))) {
+                segment++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Path segmentPath(Path directory, int segment) {
+        return directory.resolve(String.format(SEGMENT, segment));
+    }
+
+    /**
+     * Append an evaluated hand.
+     *
+     * @param round      round number
+     * @param spot       spot of the hand in the order the spots are dealt
+     * @param hand       evaluated player hand
+     * @param dealerHand dealer hand of the round
+     */
+    public void append(long round, int spot, PlayerHand hand, DealerHand dealerHand) {
+        if (buffer == null || records == segmentRecords) {
+            nextSegment();
+        }
+        HandRecord.write(buffer, HEADER_SIZE + records * HandRecord.SIZE, round, spot, hand, dealerHand);
+        records++;
+        buffer.putLong(COUNT, records);
+    }
+
+    private void nextSegment() {
+        close();
+        long size = HEADER_SIZE + (long) segmentRecords * HandRecord.SIZE;
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, segment++),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, (short) VERSION);
+        buffer.putShort(6, (short) HandRecord.SIZE);
+        buffer.putLong(COUNT, 0);
+        records = 0;
+    }
+
+    /**
+     * Write the mapped records through to the disk.
+     */
+    public void flush() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Flush and release the current segment. Appending after close starts a
+     * new segment.
+     */
+    @Override
+    public void close() {
+        flush();
+        buffer = null;
+    }
+}
@@ -0,0 +1,48 @@
+package blackjack;
+
+/**
+ *
+ * This Enum represents the options that a player can opt for in this version
+ * of BlackJack. The options are Hit, Stand and Split, and Double and Surrender
+ * where the table's Rules allow them.
+ *
+ * It is used to compare User's inputs while giving them the options for the hand.
+ *
+ */
+
+
+public enum HandOptions {
+    HIT(1),
+    STAND(2),
+    SPLIT(3),
+    DOUBLE(4),
+    SURRENDER(5);
+
+    private int value;
+
+    private HandOptions(int value) {
+        this.value = value;
+    }
+
+    public int getValue() {
+        return this.value;
+    }
+
+    /**
+     * @param value the option as typed by the user
+     * @return matching HandOptions or null if there is no such option
+     */
+    public static HandOptions fromValue(int value) {
+        for (HandOptions option : values()) {
+            if (option.value == value) {
+                return option;
+            }
+        }
+        return null;
+    }
+
+
+}
+
+
+
@@ -0,0 +1,268 @@
+package blackjack;
+
+import java.nio.ByteBuffer;
+
+/**
+ * HandRecord describes the fixed width binary record of an evaluated player
+ * hand in the hand log, and is a view over such a record when the log is
+ * read back. The view is moved from record to record so reading a log
+ * doesn't create an object per hand.
+ * <p/>
+ * A record is 64 bytes:
+ * <p/>
+ * - 0: round number (long)
+ * - 8: bet (int)
+ * - 12: chips won (positive) or lost (negative) (int)
+ * - 16: result W, L or T (byte)
+ * - 17: flags, see SPLIT, PLAYER_BLACKJACK, DEALER_BLACKJACK, TRUNCATED, DOUBLED
+ * and SURRENDERED (byte)
+ * - 18: number of player cards (byte)
+ * - 19: number of dealer cards (byte)
+ * - 20: codes of the first 21 player cards, see Shoe (bytes)
+ * - 41: codes of the first 21 dealer cards (bytes)
+ * - 62: spot of the hand in the order the spots are dealt (unsigned short)
+ */
+
+public class HandRecord {
+
+    static final int SIZE = 64;
+
+    static final int MAX_CARDS = 21;
+
+    private static final int ROUND = 0;
+
+    private static final int BET = 8;
+
+    private static final int CHIPS = 12;
+
+    private static final int RESULT = 16;
+
+    private static final int FLAGS = 17;
+
+    private static final int PLAYER_COUNT = 18;
+
+    private static final int DEALER_COUNT = 19;
+
+    private static final int PLAYER_CARDS = 20;
+
+    private static final int DEALER_CARDS = PLAYER_CARDS + MAX_CARDS;
+
+    private static final int SPOT = DEALER_CARDS + MAX_CARDS;
+
+    /**
+     * Most spots of a table whose hands are logged
+     */
+    static final int MAX_SPOTS = 0x10000;
+
+    /**
+     * The hand was played after a split
+     */
+    static final int SPLIT = 1;
+
+    static final int PLAYER_BLACKJACK = 2;
+
+    static final int DEALER_BLACKJACK = 4;
+
+    /**
+     * A hand had more than MAX_CARDS cards, only the first ones are kept
+     */
+    static final int TRUNCATED = 8;
+
+    static final int DOUBLED = 16;
+
+    static final int SURRENDERED = 32;
+
+    private ByteBuffer buffer;
+
+    private int offset;
+
+    /**
+     * Write the record of an evaluated hand.
+     *
+     * @param buffer     buffer to write to
+     * @param offset     position of the record in the buffer
+     * @param round      round number
+     * @param spot       spot of the hand, the hands split from a spot share it
+     * @param hand       evaluated player hand
+     * @param dealerHand dealer hand of the round
+     */
+    static void write(ByteBuffer buffer, int offset, long round, int spot, PlayerHand hand, DealerHand dealerHand) {
+        int flags = 0;
+        if (hand.isSplit()) {
+            flags |= SPLIT;
+        }
+        if (hand.isBlackJack()) {
+            flags |= PLAYER_BLACKJACK;
+        }
+        if (dealerHand.isBlackJack()) {
+            flags |= DEALER_BLACKJACK;
+        }
+        if (hand.isDoubled()) {
+            flags |= DOUBLED;
+        }
+        if (hand.isSurrendered()) {
+            flags |= SURRENDERED;
+        }
+        if (hand.getCards().size() > MAX_CARDS || dealerHand.getCards().size() > MAX_CARDS) {
+            flags |= TRUNCATED;
+        }
+
+        buffer.putLong(offset + ROUND, round);
+        buffer.putInt(offset + BET, hand.getBet());
+        buffer.putInt(offset + CHIPS, hand.getChipDelta());
+        buffer.put(offset + RESULT, (byte) hand.getResult());
+        buffer.put(offset + FLAGS, (byte) flags);
+        buffer.put(offset + PLAYER_COUNT, (byte) hand.getCards().size());
+        buffer.put(offset + DEALER_COUNT, (byte) dealerHand.getCards().size());
+        writeCards(buffer, offset + PLAYER_CARDS, hand);
+        writeCards(buffer, offset + DEALER_CARDS, dealerHand);
+        buffer.putChar(offset + SPOT, (char) spot);
+    }
+
+    private static void writeCards(ByteBuffer buffer, int offset, Hand hand) {
+        int count = Math.min(hand.getCards().size(), MAX_CARDS);
+        for (int i = 0; i < count; i++) {
+            Card card = hand.getCards().get(i);
+            buffer.put(offset + i, (byte) card.getCode());
+        }
+        for (int i = count; i < MAX_CARDS; i++) {
+            buffer.put(offset + i, (byte) -1);
+        }
+    }
+
+    /**
+     * Point the view at a record.
+     */
+    void moveTo(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    public long getRound() {
+        return buffer.getLong(offset + ROUND);
+    }
+
+    public int getBet() {
+        return buffer.getInt(offset + BET);
+    }
+
+    public int getChipDelta() {
+        return buffer.getInt(offset + CHIPS);
+    }
+
+    public char getResult() {
+        return (char) buffer.get(offset + RESULT);
+    }
+
+    public int getSpot() {
+        return buffer.getChar(offset + SPOT);
+    }
+
+    public int getFlags() {
+        return buffer.get(offset + FLAGS);
+    }
+
+    public boolean isSplit() {
+        return (getFlags() & SPLIT) != 0;
+    }
+
+    public boolean isBlackJack() {
+        return (getFlags() & PLAYER_BLACKJACK) != 0;
+    }
+
+    public boolean isDoubled() {
+        return (getFlags() & DOUBLED) != 0;
+    }
+
+    public boolean isSurrendered() {
+        return (getFlags() & SURRENDERED) != 0;
+    }
+
+    public boolean isDealerBlackJack() {
+        return (getFlags() & DEALER_BLACKJACK) != 0;
+    }
+
+    public int getPlayerCardCount() {
+        return buffer.get(offset + PLAYER_COUNT) & 0xFF;
+    }
+
+    public int getDealerCardCount() {
+        return buffer.get(offset + DEALER_COUNT) & 0xFF;
+    }
+
+    /**
+     * @param index index of the card in the player hand
+     * @return code of the card, see Shoe
+     */
+    public int getPlayerCard(int index) {
+        return buffer.get(offset + PLAYER_CARDS + index);
+    }
+
+    /**
+     * @param index index of the card in the dealer hand
+     * @return code of the card, see Shoe
+     */
+    public int getDealerCard(int index) {
+        return buffer.get(offset + DEALER_CARDS + index);
+    }
+
+    /**
+     * @return value of the player hand, from its first MAX_CARDS cards
+     */
+    public int getPlayerValue() {
+        return value(PLAYER_CARDS, getPlayerCardCount());
+    }
+
+    /**
+     * @return value of the dealer hand, from its first MAX_CARDS cards
+     */
+    public int getDealerValue() {
+        return value(DEALER_CARDS, getDealerCardCount());
+    }
+
+    private int value(int cards, int count) {
+        int hardTotal = 0;
+        int aces = 0;
+        for (int i = 0; i < Math.min(count, MAX_CARDS); i++) {
+            CardType cardType = Card.of(buffer.get(offset + cards + i)).getCardType();
+            if (cardType == CardType.ACE) {
+                aces++;
+                hardTotal += 1;
+            } else {
+                hardTotal += cardType.getValue();
+            }
+        }
+        return Hand.valueOf(hardTotal, aces);
+    }
+
+    /**
+     * Rebuild the player hand of this record e.g. to evaluate it again.
+     *
+     * @return hand with the cards, bet and result of the record
+     */
+    public PlayerHand toPlayerHand() {
+        PlayerHand hand = new PlayerHand(getBet(), isSplit());
+        int count = Math.min(getPlayerCardCount(), MAX_CARDS);
+        for (int i = 0; i < count; i++) {
+            hand.addCard(Card.of(getPlayerCard(i)));
+        }
+        hand.settle(getResult(), getChipDelta());
+        hand.setDoubled(isDoubled());
+        hand.setSurrendered(isSurrendered());
+        return hand;
+    }
+
+    /**
+     * Rebuild the dealer hand of this record.
+     *
+     * @return hand with the cards of the record
+     */
+    public DealerHand toDealerHand() {
+        DealerHand hand = new DealerHand();
+        int count = Math.min(getDealerCardCount(), MAX_CARDS);
+        for (int i = 0; i < count; i++) {
+            hand.addCard(Card.of(getDealerCard(i)));
+        }
+        return hand;
+    }
+}
@@ -0,0 +1,128 @@
+package blackjack;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram counts latencies in nanoseconds in buckets of the same
+ * relative width, like an HDR histogram: every power of two is split into
+ * SUB_BUCKETS linear buckets, so any latency from a nanosecond to hours is
+ * recorded in a fixed array with a precision of about 6%.
+ * <p/>
+ * Recording is an increment of one bucket and of two adders and never
+ * allocates or locks, so many tables may record into the same histogram.
+ * Like a LongAdder the buckets are striped: every thread counts into one of
+ * STRIPES copies of the buckets picked by its id, so tables on different
+ * threads recording the same latency don't fight over the same bucket.
+ * Reading the percentiles adds the stripes up while they may still change,
+ * which is fine for a scrape.
+ */
+
+class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Values below SUB_BUCKETS have a bucket each, then SUB_BUCKETS buckets
+     * for every power of two up to Long.MAX_VALUE
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * Copies of the buckets, a power of two up to 16
+     */
+    private static final int STRIPES = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors()), 16);
+
+    private final AtomicLongArray counts = new AtomicLongArray(STRIPES * BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos latency to record, negative values are recorded as 0
+     */
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        counts.incrementAndGet(stripe * BUCKETS + bucket(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * @return highest value counted in the bucket
+     */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return mean latency, 0 if nothing was recorded
+     */
+    double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * @param percentile e.g. 99.9
+     * @return latency at or below which the given percentage of the recorded
+     * latencies are, within the precision of the buckets, 0 if nothing was
+     * recorded
+     */
+    long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < STRIPES * BUCKETS; i++) {
+            long bucketCount = counts.get(i);
+            snapshot[i % BUCKETS] += bucketCount;
+            n += bucketCount;
+        }
+        long rank = (long) Math.ceil(percentile / 100 * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(highestValue(i), getMax());
+            }
+        }
+        return 0;
+    }
+
+    void reset() {
+        for (int i = 0; i < STRIPES * BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+}
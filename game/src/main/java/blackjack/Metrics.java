@@ -0,0 +1,275 @@
+package blackjack;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics counts what happens at the tables: rounds and hands played, cards
+ * dealt, dealer draws, reshuffles and the chips wagered and paid out, along
+ * with the latencies of the bets, the player decisions and whole rounds.
+ * <p/>
+ * Metrics are off unless the JVM is started with -Dblackjack.metrics=true.
+ * A table only touches its metrics behind the ENABLED constant, so with
+ * metrics off the JIT drops the instrumentation and the tables don't pay
+ * for it. With metrics on the counters are LongAdders, which stripe their
+ * cells when tables on several threads count at once, and the latencies go
+ * into LatencyHistograms.
+ * <p/>
+ * Every table counts into GLOBAL unless it is given metrics of its own, e.g.
+ * to follow the chip flow of a single table. Registered metrics can be read
+ * through JMX and, if -Dblackjack.metrics.port is set, as text from a
+ * MetricsServer on the loopback address.
+ */
+
+public class Metrics implements MetricsMXBean {
+
+    static final boolean ENABLED = Boolean.getBoolean("blackjack.metrics");
+
+    static final String PORT_PROPERTY = "blackjack.metrics.port";
+
+    /**
+     * Metrics of every table without metrics of its own
+     */
+    static final Metrics GLOBAL = new Metrics("global");
+
+    private static final List<Metrics> REGISTERED = new CopyOnWriteArrayList<>();
+
+    private final String name;
+
+    private volatile long start = System.nanoTime();
+
+    final LongAdder rounds = new LongAdder();
+
+    final LongAdder hands = new LongAdder();
+
+    final LongAdder cardsDealt = new LongAdder();
+
+    final LongAdder dealerDraws = new LongAdder();
+
+    final LongAdder reshuffles = new LongAdder();
+
+    /**
+     * Chips of the bets, split and double down stakes and insurances placed
+     */
+    final LongAdder chipsWagered = new LongAdder();
+
+    /**
+     * Chips paid back to the players, including the stakes won or pushed
+     */
+    final LongAdder chipsPaid = new LongAdder();
+
+    /**
+     * Time the bet strategies take to place a bet
+     */
+    final LatencyHistogram betLatency = new LatencyHistogram();
+
+    /**
+     * Time the action strategies, or the console player, take to choose a hand option
+     */
+    final LatencyHistogram decisionLatency = new LatencyHistogram();
+
+    /**
+     * Time from the deal to the reset of the hands of a round
+     */
+    final LatencyHistogram roundLatency = new LatencyHistogram();
+
+    /**
+     * @param name name of the metrics in JMX and the scrape, e.g. the table
+     */
+    public Metrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Make the metrics readable through JMX and the MetricsServer.
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName());
+        } catch (JMException e) {
+            throw new IllegalStateException("Can't register metrics " + name, e);
+        }
+        REGISTERED.add(this);
+    }
+
+    public void unregister() {
+        REGISTERED.remove(this);
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName());
+        } catch (JMException e) {
+            // Not registered
+        }
+    }
+
+    private ObjectName objectName() throws JMException {
+        return new ObjectName("blackjack:type=Metrics,name=" + ObjectName.quote(name));
+    }
+
+    static List<Metrics> getRegistered() {
+        return REGISTERED;
+    }
+
+    /**
+     * Register the GLOBAL metrics and start a MetricsServer on the port set
+     * in blackjack.metrics.port, if metrics are on at all. Called by the
+     * main methods.
+     *
+     * @return the started server, null if none
+     */
+    static MetricsServer exportIfEnabled() {
+        if (!ENABLED) {
+            return null;
+        }
+        GLOBAL.register();
+        String port = System.getProperty(PORT_PROPERTY);
+        if (port == null) {
+            return null;
+        }
+        MetricsServer server = new MetricsServer(Integer.parseInt(port));
+        System.out.println("Metrics at http://localhost:" + server.start() + MetricsServer.PATH);
+        return server;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getRounds() {
+        return rounds.sum();
+    }
+
+    @Override
+    public long getHands() {
+        return hands.sum();
+    }
+
+    /**
+     * @return hands evaluated per second since the metrics were created or reset
+     */
+    @Override
+    public double getHandsPerSecond() {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return seconds > 0 ? hands.sum() / seconds : 0;
+    }
+
+    @Override
+    public long getCardsDealt() {
+        return cardsDealt.sum();
+    }
+
+    @Override
+    public long getDealerDraws() {
+        return dealerDraws.sum();
+    }
+
+    @Override
+    public long getReshuffles() {
+        return reshuffles.sum();
+    }
+
+    @Override
+    public long getChipsWagered() {
+        return chipsWagered.sum();
+    }
+
+    @Override
+    public long getChipsPaid() {
+        return chipsPaid.sum();
+    }
+
+    @Override
+    public long getDecisions() {
+        return decisionLatency.getCount();
+    }
+
+    @Override
+    public long getDecisionLatencyMedian() {
+        return decisionLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getDecisionLatency99() {
+        return decisionLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getDecisionLatencyMax() {
+        return decisionLatency.getMax();
+    }
+
+    @Override
+    public long getBetLatency99() {
+        return betLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getRoundLatencyMedian() {
+        return roundLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getRoundLatency99() {
+        return roundLatency.getPercentile(99);
+    }
+
+    @Override
+    public void reset() {
+        rounds.reset();
+        hands.reset();
+        cardsDealt.reset();
+        dealerDraws.reset();
+        reshuffles.reset();
+        chipsWagered.reset();
+        chipsPaid.reset();
+        betLatency.reset();
+        decisionLatency.reset();
+        roundLatency.reset();
+        start = System.nanoTime();
+    }
+
+    /**
+     * Write the metrics in the Prometheus text format, one line per value
+     * labelled with the name of the metrics. Latencies are in seconds.
+     *
+     * @param out text of the scrape
+     */
+    void writeText(StringBuilder out) {
+        String label = "{table=\"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        writeValue(out, "blackjack_rounds_total", label, getRounds());
+        writeValue(out, "blackjack_hands_total", label, getHands());
+        writeValue(out, "blackjack_hands_per_second", label, getHandsPerSecond());
+        writeValue(out, "blackjack_cards_dealt_total", label, getCardsDealt());
+        writeValue(out, "blackjack_dealer_draws_total", label, getDealerDraws());
+        writeValue(out, "blackjack_reshuffles_total", label, getReshuffles());
+        writeValue(out, "blackjack_chips_wagered_total", label, getChipsWagered());
+        writeValue(out, "blackjack_chips_paid_total", label, getChipsPaid());
+        writeLatency(out, "blackjack_bet_latency_seconds", label, betLatency);
+        writeLatency(out, "blackjack_decision_latency_seconds", label, decisionLatency);
+        writeLatency(out, "blackjack_round_latency_seconds", label, roundLatency);
+    }
+
+    private static void writeLatency(StringBuilder out, String metric, String label, LatencyHistogram histogram) {
+        String[] quantiles = {"0.5", "0.9", "0.99", "0.999"};
+        for (String quantile : quantiles) {
+            writeValue(out, metric, label + ",quantile=\"" + quantile + "\"",
+                    histogram.getPercentile(Double.parseDouble(quantile) * 100) / 1e9);
+        }
+        writeValue(out, metric + "_max", label, histogram.getMax() / 1e9);
+        writeValue(out, metric + "_count", label, histogram.getCount());
+    }
+
+    private static void writeValue(StringBuilder out, String metric, String labels, long value) {
+        out.append(metric).append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static void writeValue(StringBuilder out, String metric, String labels, double value) {
+        out.append(metric).append(labels).append("} ").append(String.format(Locale.ROOT, "%.9g", value)).append('\n');
+    }
+}
@@ -0,0 +1,47 @@
+package blackjack;
+
+/**
+ * Management interface of the table Metrics, registered with the platform
+ * MBean server as blackjack:type=Metrics,name=<name>. Latencies are in
+ * nanoseconds.
+ */
+
+public interface MetricsMXBean {
+
+    String getName();
+
+    long getRounds();
+
+    long getHands();
+
+    double getHandsPerSecond();
+
+    long getCardsDealt();
+
+    long getDealerDraws();
+
+    long getReshuffles();
+
+    long getChipsWagered();
+
+    long getChipsPaid();
+
+    long getDecisions();
+
+    long getDecisionLatencyMedian();
+
+    long getDecisionLatency99();
+
+    long getDecisionLatencyMax();
+
+    long getBetLatency99();
+
+    long getRoundLatencyMedian();
+
+    long getRoundLatency99();
+
+    /**
+     * Start counting from zero again
+     */
+    void reset();
+}
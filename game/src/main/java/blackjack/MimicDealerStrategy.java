@@ -0,0 +1,13 @@
+package blackjack;
+
+/**
+ * The simplest automatic player. It plays the hand the way the dealer does
+ * i.e. takes a hit as long as the hand value is below 17 and never splits.
+ */
+
+public class MimicDealerStrategy implements ActionStrategy {
+
+    public HandOptions chooseOption(PlayerHand hand, Card dealerUpCard, int chips) {
+        return hand.getHandValue() < 17 ? HandOptions.HIT : HandOptions.STAND;
+    }
+}
@@ -0,0 +1,141 @@
+package blackjack;
+
+import java.io.PrintStream;
+
+/**
+ * This represents a Player. It is composed of
+ * 1- The ledger of the chips the player holds.
+ * 2- History of the hands played by the player.
+ * <p/>
+ * The table deals the hands of the player's spots and adds each one to
+ * the history once it is evaluated.
+ */
+
+public class Player {
+
+    /**
+     * Holds the chips of the player, available and in play.
+     * Assuming that a single chip holds a unit value. The ledger may be
+     * shared with players at other tables.
+     */
+    private ChipLedger ledger;
+
+    /**
+     * True if the ledger was given to the player rather than opened for it,
+     * other tables may then bet its chips at any time
+     */
+    private final boolean sharedLedger;
+
+    /**
+     * Number of recent hands kept in the history of the interactive game
+     */
+    static final int HISTORY_SIZE = 100;
+
+    /**
+     * Holds the history of hands played
+     */
+    private HandHistory<PlayerHand> hands;
+
+
+    Player(int chips) {
+        this(chips, HISTORY_SIZE);
+    }
+
+    /**
+     * @param chips       chips the player starts with
+     * @param historySize number of recent hands to keep, 0 to only keep the
+     *                    count of wins, losses and ties
+     */
+    Player(int chips, int historySize) {
+        this(new ChipLedger(chips), historySize, false);
+    }
+
+    /**
+     * @param ledger      bankroll of the player, may back players at other tables
+     * @param historySize number of recent hands to keep, 0 to only keep the
+     *                    count of wins, losses and ties
+     */
+    Player(ChipLedger ledger, int historySize) {
+        this(ledger, historySize, true);
+    }
+
+    private Player(ChipLedger ledger, int historySize, boolean sharedLedger) {
+        this.ledger = ledger;
+        this.sharedLedger = sharedLedger;
+        hands = new HandHistory<PlayerHand>(historySize);
+    }
+
+    /**
+     * @return chips available to bet
+     */
+    public int getChips() {
+        return ledger.getAvailable();
+    }
+
+    /**
+     * Set the chips available to bet, keeping the chips in play. This is not
+     * atomic with other changes, so it is refused for a ledger other tables
+     * may share; the table changes the chips through the ledger.
+     *
+     * @param chips chips available to bet
+     */
+    public void setChips(int chips) {
+        if (sharedLedger) {
+            throw new IllegalStateException("Can't set the chips of a bankroll shared with other tables");
+        }
+        ledger.reset(chips, ledger.getReserved());
+    }
+
+    public ChipLedger getLedger() {
+        return ledger;
+    }
+
+    /**
+     * @return true if the ledger was given to the player and may back
+     * players at other tables
+     */
+    boolean isSharedLedger() {
+        return sharedLedger;
+    }
+
+    /**
+     * Once hand is finished playing, add to the list of hands
+     *
+     * @param hand PlayerHand that just finished playing or was evaluated
+     */
+    public void addHand(PlayerHand hand) {
+        hands.add(hand, hand.getChipDelta());
+    }
+
+    public HandHistory<PlayerHand> getHistory() {
+        return hands;
+    }
+
+    /**
+     * This method prints the details / summary of the hands
+     * played by the player displaying total wins, losses and ties.
+     * <p/>
+     * The counts are kept up to date by the history as hands are added,
+     * so the hands are not gone through again.
+     */
+    public void printPlayer() {
+        printPlayer(System.out);
+    }
+
+    /**
+     * Print the summary of the hands to the given stream
+     *
+     * @param out stream to print to
+     */
+    public void printPlayer(PrintStream out) {
+        out.println(" ");
+        out.println("Summary of the Player Hands");
+        out.println("==========================================================");
+        out.println("Player remaining chips: " + getChips());
+        out.println("Total Hands played: " + hands.getHands());
+        out.println("Wins: " + hands.getWins() + " Losses: " + hands.getLosses() + " Ties: " + hands.getTies());
+        out.println("==========================================================");
+
+    }
+
+}
@@ -0,0 +1,229 @@
+package blackjack;
+
+import java.io.PrintStream;
+
+
+/**
+ * This is a subclass of abstract Hand class. This will represent
+ * a player's hand. It will also hold the amount of bet that a player places
+ * and implements methods to handle a player stand or split decisions.
+ * <p/>
+ * Moreover, it overrides the printHand method to print / show a player's
+ * cards at a given instance.
+ * <p/>
+ * The hands split from a PlayerHand are kept by the table next to it, see
+ * BlackJack.split. Whether a hand may be split again is decided by the
+ * table's Rules.
+ */
+
+public class PlayerHand extends Hand {
+    /**
+     * Represents player's bet in a hand
+     */
+    private int bet;
+
+    /**
+     * A Boolean value when the hand is part of a split i.e. the hand that was
+     * split or a hand split from it
+     */
+    private Boolean split = false;
+
+    /**
+     * False once the rules of the table don't allow to split this hand (again)
+     * e.g. the limit of hands is reached. Kept up to date by BlackJack.split
+     */
+    private boolean splittable = true;
+
+    /**
+     * A Boolean to check if a player has made a split. This boolean is used to check if
+     * it is time for the Dealer to start playing his hand
+     */
+    private Boolean stand = false;
+
+    /**
+     * True if the player doubled the bet for a single card
+     */
+    private boolean doubled;
+
+    /**
+     * True if the player gave up the hand for half the bet
+     */
+    private boolean surrendered;
+
+    /**
+     * Chips won (positive) or lost (negative), set when the hand is evaluated
+     */
+    private int chipDelta;
+
+
+    public PlayerHand() {
+        super();
+        bet = 0;
+    }
+
+    /**
+     * This constructor is called by the split player hand to
+     * initialize itself with the amount bet and boolean split
+     * as true.
+     *
+     * @param bet
+     * @param split
+     */
+    public PlayerHand(int bet, boolean split) {
+        super();
+        this.bet = bet;
+        this.split = split;
+    }
+
+    @Override
+    void reset() {
+        super.reset();
+        bet = 0;
+        split = false;
+        splittable = true;
+        stand = false;
+        doubled = false;
+        surrendered = false;
+        chipDelta = 0;
+    }
+
+    /**
+     * Player will have the option to select hit, stand
+     * if his handValue is 21
+     */
+    @Override
+    public void stand() {
+        stand(System.out);
+    }
+
+    /**
+     * Stand and print the decision to the given stream
+     *
+     * @param out stream to print to
+     */
+    public void stand(PrintStream out) {
+        stand = true;
+        out.println("Player decided to stand.");
+    }
+
+    public Boolean isStand() {
+        return stand;
+    }
+
+    /**
+     * Same as stand but without printing. Used by the headless engine.
+     *
+     * @param stand
+     */
+    public void setStand(Boolean stand) {
+        this.stand = stand;
+    }
+
+    public int getBet() {
+        return bet;
+    }
+
+    /**
+     * @return chips won (positive) or lost (negative) with this hand
+     * once it has been evaluated
+     */
+    public int getChipDelta() {
+        return chipDelta;
+    }
+
+    /**
+     * Set the result of the evaluated hand and what it paid, which depends
+     * on the table's rules e.g. for a BlackJack.
+     *
+     * @param result    W, L or T
+     * @param chipDelta chips won (positive) or lost (negative)
+     */
+    void settle(char result, int chipDelta) {
+        setResult(result);
+        this.chipDelta = chipDelta;
+    }
+
+    public boolean isDoubled() {
+        return doubled;
+    }
+
+    void setDoubled(boolean doubled) {
+        this.doubled = doubled;
+    }
+
+    public boolean isSurrendered() {
+        return surrendered;
+    }
+
+    void setSurrendered(boolean surrendered) {
+        this.surrendered = surrendered;
+    }
+
+    public void setBet(int bet) {
+        this.bet = bet;
+    }
+
+    public void setSplit(Boolean split) {
+        this.split = split;
+    }
+
+    /**
+     * This method checks if the conditions are met to make a split i.e.
+     * 1- The rules of the table allow another split, see Rules
+     * 2- The player is dealt only two cards and both cards are equal (having
+     * same card type i.e. Jack and a Jack etc.
+     *
+     * @return true if a split is a legal action, false otherwise.
+     */
+    public Boolean canSplit() {
+        if (splittable && cards.size() == 2 && cards.get(0).equals(cards.get(1)))
+            return true;
+        return false;
+    }
+
+    boolean isSplittable() {
+        return splittable;
+    }
+
+    void setSplittable(boolean splittable) {
+        this.splittable = splittable;
+    }
+
+    public Boolean isSplit() {
+        return split;
+    }
+
+    /**
+     * Print a player's hand. Added headings so that it is clear that a player hand is
+     * being printed.
+     * <p/>
+     * Prints player's cards, total hand value and the bet placed on this hand.
+     * <p/>
+     * Also prints result of the hand once the hand has been evaluated.
+     */
+    @Override
+    public void printHand(PrintStream out) {
+        out.println("=====================");
+        out.println("| Player Hand       |");
+        out.println("=====================");
+
+        // Printed piece by piece with the cached card labels, a buffered
+        // renderer collects the pieces anyway
+        out.print("BET: ");
+        out.print(bet);
+        out.print(" \nCards ");
+        for (Card c : cards) {
+            out.print(": ");
+            out.print(c.toString());
+        }
+        out.print("\nHand Value: ");
+        out.print(handValue);
+
+        if (result != 'N') {
+            out.print(" : Result: ");
+            out.print(result);
+        }
+
+        out.println();
+    }
+}
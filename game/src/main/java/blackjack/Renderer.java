@@ -0,0 +1,82 @@
+package blackjack;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renderer decides where a table prints the game to. There are three modes:
+ * <p/>
+ * - silent: nothing is printed, the text is not even built. Used by the
+ * headless games of the Simulator.
+ * - buffered: the text is collected in a large buffer and written out in
+ * batches, e.g. to render many hands to a file. Call flush to write out
+ * what is left.
+ * - console: every line is written out right away, as the interactive game
+ * needs.
+ */
+
+public class Renderer {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final Renderer SILENT = new Renderer(new PrintStream(OutputStream.nullOutputStream()), false);
+
+    private final PrintStream out;
+
+    private final boolean enabled;
+
+    private Renderer(PrintStream out, boolean enabled) {
+        this.out = out;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return renderer which prints nothing
+     */
+    public static Renderer silent() {
+        return SILENT;
+    }
+
+    /**
+     * @return renderer printing to the console
+     */
+    public static Renderer console() {
+        return new Renderer(System.out, true);
+    }
+
+    /**
+     * @param out stream to write the batches to
+     * @return renderer writing to the stream in batches
+     */
+    public static Renderer buffered(OutputStream out) {
+        return new Renderer(new PrintStream(new BufferedOutputStream(out, BUFFER_SIZE), false, StandardCharsets.UTF_8), true);
+    }
+
+    /**
+     * @param out stream to print to e.g. the connection of a table session
+     * @return renderer printing to the stream
+     */
+    public static Renderer of(PrintStream out) {
+        return new Renderer(out, true);
+    }
+
+    /**
+     * @return false if nothing is printed, so the game can skip building the text
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public PrintStream getOut() {
+        return out;
+    }
+
+    /**
+     * Write out everything printed so far
+     */
+    public void flush() {
+        out.flush();
+    }
+}
@@ -0,0 +1,136 @@
+package blackjack;
+
+/**
+ * RuleTables is a Rules compiled into lookup tables: whether the dealer takes
+ * a hit, which options the rules allow for a player hand and what an
+ * evaluated hand pays. A table compiles its rules once when they are set, so
+ * playing a round looks the rules up instead of going through them.
+ * <p/>
+ * The dealer and options tables are indexed by the value of the hand, which
+ * is never above Hand.MAX_HARD_TOTAL for a hand in play.
+ */
+
+class RuleTables {
+
+    /**
+     * Outcomes of an evaluated hand, see payout
+     */
+    static final int PUSH = 0;
+
+    static final int WIN = 1;
+
+    static final int BLACKJACK = 2;
+
+    static final int LOSS = 3;
+
+    static final int SURRENDER = 4;
+
+    private static final int OUTCOMES = 5;
+
+    /**
+     * Result of the player hand and of the dealer hand for every outcome
+     */
+    static final char[] RESULTS = {'T', 'W', 'W', 'L', 'L'};
+
+    static final char[] DEALER_RESULTS = {'T', 'L', 'L', 'W', 'W'};
+
+    private static final int VALUES = Hand.MAX_HARD_TOTAL + 1;
+
+    /**
+     * State of a player hand in the options table
+     */
+    private static final int TWO_CARDS = 1;
+
+    private static final int SPLIT = 2;
+
+    /**
+     * True if the dealer takes a hit, indexed by soft * VALUES + value
+     */
+    private final boolean[] dealerHits = new boolean[2 * VALUES];
+
+    /**
+     * Bits (1 << ordinal) of the HandOptions the rules allow, indexed by
+     * state * VALUES + value. Split depends on the cards and is left to
+     * PlayerHand.canSplit.
+     */
+    private final int[] options = new int[4 * VALUES];
+
+    /**
+     * Chips paid back on a bet for every outcome, as a fraction of the bet
+     */
+    private final int[] paidBets = new int[OUTCOMES];
+
+    private final int[] perBets = new int[OUTCOMES];
+
+    private final boolean insurance;
+
+    RuleTables(Rules rules) {
+        for (int value = 0; value < VALUES; value++) {
+            dealerHits[value] = value < 17;
+            dealerHits[VALUES + value] = value < 17 || (value == 17 && rules.isDealerHitsSoft17());
+        }
+
+        int always = 1 << HandOptions.HIT.ordinal() | 1 << HandOptions.STAND.ordinal();
+        for (int state = 0; state < 4; state++) {
+            boolean twoCards = (state & TWO_CARDS) != 0;
+            boolean split = (state & SPLIT) != 0;
+            for (int value = 0; value < VALUES; value++) {
+                int allowed = always;
+                if (twoCards && rules.getDoubleDown().allows(value) && (!split || rules.isDoubleAfterSplit())) {
+                    allowed |= 1 << HandOptions.DOUBLE.ordinal();
+                }
+                if (twoCards && !split && rules.isSurrender()) {
+                    allowed |= 1 << HandOptions.SURRENDER.ordinal();
+                }
+                options[state * VALUES + value] = allowed;
+            }
+        }
+
+        setPayout(PUSH, 1, 1);
+        setPayout(WIN, 2, 1);
+        setPayout(BLACKJACK, rules.getBlackJackWin() + rules.getBlackJackBet(), rules.getBlackJackBet());
+        setPayout(LOSS, 0, 1);
+        setPayout(SURRENDER, 1, 2);
+        insurance = rules.isInsurance();
+    }
+
+    private void setPayout(int outcome, int paid, int per) {
+        paidBets[outcome] = paid;
+        perBets[outcome] = per;
+    }
+
+    /**
+     * @param dealerHand dealer hand in play
+     * @return true if the dealer takes a hit
+     */
+    boolean dealerHits(Hand dealerHand) {
+        return dealerHits[(dealerHand.isSoft() ? VALUES : 0) + dealerHand.getHandValue()];
+    }
+
+    /**
+     * @param option option of the player
+     * @param hand   player hand in play
+     * @return true if the rules allow the option for the hand, without
+     * looking at the player's chips. Always false for SPLIT.
+     */
+    boolean allows(HandOptions option, PlayerHand hand) {
+        int state = (hand.getCards().size() == 2 ? TWO_CARDS : 0) | (hand.isSplit() ? SPLIT : 0);
+        return (options[state * VALUES + hand.getHandValue()] & 1 << option.ordinal()) != 0;
+    }
+
+    /**
+     * @param outcome outcome of the hand e.g. WIN
+     * @param bet     chips bet on the hand
+     * @return chips paid back to the player, including the bet, rounded down
+     */
+    int payout(int outcome, int bet) {
+        return (int) ((long) bet * paidBets[outcome] / perBets[outcome]);
+    }
+
+    /**
+     * @return true if the player may insure when the dealer shows an ACE
+     */
+    boolean offersInsurance() {
+        return insurance;
+    }
+}
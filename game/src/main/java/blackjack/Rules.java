@@ -0,0 +1,199 @@
+package blackjack;
+
+/**
+ * Rules holds the house rules of a BlackJack table. A table compiles its
+ * rules into RuleTables when they are set, so a Rules shared by many tables
+ * e.g. the tables of a simulation must not be changed while they play.
+ * <p/>
+ * The default rules are the rules of the interactive game: the dealer stands
+ * on all 17s, a BlackJack pays 1 to 1 and a pair can be split up to 4 hands.
+ * Split aces can't be split again but are played like any other hand. There
+ * is no double down, surrender or insurance.
+ */
+
+public class Rules {
+
+    static final int DEFAULT_MAX_HANDS = 4;
+
+    /**
+     * Most hands a spot can be split into
+     */
+    private int maxHands = DEFAULT_MAX_HANDS;
+
+    /**
+     * True if a pair of aces dealt to a split ace can be split again
+     */
+    private boolean resplitAces = false;
+
+    /**
+     * True if split aces are played like any other hand, false if they get
+     * a single card each and stand
+     */
+    private boolean hitSplitAces = true;
+
+    /**
+     * True if the dealer takes a hit on a soft 17 (H17), false if the dealer
+     * stands on all 17s (S17)
+     */
+    private boolean dealerHitsSoft17 = false;
+
+    /**
+     * A BlackJack pays blackJackWin to blackJackBet e.g. 3 to 2
+     */
+    private int blackJackWin = 1;
+
+    private int blackJackBet = 1;
+
+    /**
+     * Hand values a player may double down on, with the first two cards
+     */
+    private DoubleDown doubleDown = DoubleDown.NONE;
+
+    /**
+     * True if a split hand may be doubled down
+     */
+    private boolean doubleAfterSplit = false;
+
+    /**
+     * True if the player may give up the first two cards of a hand for
+     * half the bet
+     */
+    private boolean surrender = false;
+
+    /**
+     * True if the player may insure against a dealer BlackJack when the
+     * dealer shows an ACE
+     */
+    private boolean insurance = false;
+
+    /**
+     * Hand values a player may double down on
+     */
+    public enum DoubleDown {
+        NONE(0, -1),
+        TEN_ELEVEN(10, 11),
+        NINE_TO_ELEVEN(9, 11),
+        ANY(2, 21);
+
+        private final int min;
+
+        private final int max;
+
+        DoubleDown(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * @param value value of a two cards hand
+         * @return true if the hand may be doubled down
+         */
+        public boolean allows(int value) {
+            return value >= min && value <= max;
+        }
+    }
+
+    public int getMaxHands() {
+        return maxHands;
+    }
+
+    /**
+     * @param maxHands most hands a spot can be split into, 1 to not allow
+     *                 splits at all
+     */
+    public void setMaxHands(int maxHands) {
+        if (maxHands < 1 || maxHands > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid number of hands per spot: " + maxHands);
+        }
+        this.maxHands = maxHands;
+    }
+
+    public boolean isResplitAces() {
+        return resplitAces;
+    }
+
+    public void setResplitAces(boolean resplitAces) {
+        this.resplitAces = resplitAces;
+    }
+
+    public boolean isHitSplitAces() {
+        return hitSplitAces;
+    }
+
+    public void setHitSplitAces(boolean hitSplitAces) {
+        this.hitSplitAces = hitSplitAces;
+    }
+
+    public boolean isDealerHitsSoft17() {
+        return dealerHitsSoft17;
+    }
+
+    public void setDealerHitsSoft17(boolean dealerHitsSoft17) {
+        this.dealerHitsSoft17 = dealerHitsSoft17;
+    }
+
+    public int getBlackJackWin() {
+        return blackJackWin;
+    }
+
+    public int getBlackJackBet() {
+        return blackJackBet;
+    }
+
+    /**
+     * Set what a BlackJack pays e.g. 3 to 2 or 6 to 5. The winnings of a
+     * BlackJack are rounded down to whole chips.
+     *
+     * @param win chips won
+     * @param bet for the chips bet
+     */
+    public void setBlackJackPayout(int win, int bet) {
+        if (win < 1 || bet < 1) {
+            throw new IllegalArgumentException("Invalid BlackJack payout " + win + " to " + bet);
+        }
+        this.blackJackWin = win;
+        this.blackJackBet = bet;
+    }
+
+    public DoubleDown getDoubleDown() {
+        return doubleDown;
+    }
+
+    public void setDoubleDown(DoubleDown doubleDown) {
+        this.doubleDown = doubleDown;
+    }
+
+    public boolean isDoubleAfterSplit() {
+        return doubleAfterSplit;
+    }
+
+    public void setDoubleAfterSplit(boolean doubleAfterSplit) {
+        this.doubleAfterSplit = doubleAfterSplit;
+    }
+
+    public boolean isSurrender() {
+        return surrender;
+    }
+
+    public void setSurrender(boolean surrender) {
+        this.surrender = surrender;
+    }
+
+    public boolean isInsurance() {
+        return insurance;
+    }
+
+    public void setInsurance(boolean insurance) {
+        this.insurance = insurance;
+    }
+
+    @Override
+    public String toString() {
+        return (dealerHitsSoft17 ? "H17" : "S17") + ", BlackJack pays " + blackJackWin + " to " + blackJackBet
+                + ", split to " + maxHands + " hands" + (resplitAces ? ", resplit aces" : "")
+                + (hitSplitAces ? "" : ", one card to split aces")
+                + (doubleDown != DoubleDown.NONE ? ", double down " + doubleDown : "")
+                + (doubleAfterSplit ? " after split" : "")
+                + (surrender ? ", surrender" : "") + (insurance ? ", insurance" : "");
+    }
+}
@@ -0,0 +1,71 @@
+package blackjack;
+
+/**
+ * Seat is a place at a BlackJack table. It holds the player sitting there,
+ * the strategies which decide the player's bets and hand options, and the
+ * number of spots i.e. hands the player plays every round.
+ * <p/>
+ * The seats are dealt in the order they were added to the table, and the
+ * spots of a seat one after the other, the way a casino deals from the
+ * dealer's left to right.
+ */
+
+public class Seat {
+
+    private Player player;
+
+    private BetStrategy betStrategy;
+
+    private ActionStrategy actionStrategy;
+
+    private int spots;
+
+    /**
+     * @param player         player sitting at the seat
+     * @param betStrategy    decides the bet of each spot
+     * @param actionStrategy decides how each hand is played
+     * @param spots          number of spots played every round
+     */
+    Seat(Player player, BetStrategy betStrategy, ActionStrategy actionStrategy, int spots) {
+        this.player = player;
+        this.betStrategy = betStrategy;
+        this.actionStrategy = actionStrategy;
+        setSpots(spots);
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public BetStrategy getBetStrategy() {
+        return betStrategy;
+    }
+
+    void setBetStrategy(BetStrategy betStrategy) {
+        this.betStrategy = betStrategy;
+    }
+
+    public ActionStrategy getActionStrategy() {
+        return actionStrategy;
+    }
+
+    void setActionStrategy(ActionStrategy actionStrategy) {
+        this.actionStrategy = actionStrategy;
+    }
+
+    public int getSpots() {
+        return spots;
+    }
+
+    /**
+     * Takes effect from the next round.
+     *
+     * @param spots number of spots played every round
+     */
+    public void setSpots(int spots) {
+        if (spots < 1) {
+            throw new IllegalArgumentException("A seat plays at least one spot: " + spots);
+        }
+        this.spots = spots;
+    }
+}
@@ -0,0 +1,95 @@
+package blackjack;
+
+import java.util.Random;
+
+/**
+ * SeededRandom is a Random based on the SplitMix64 generator. It is faster
+ * than java.util.Random, has no locking or atomic updates, and its whole
+ * state is one long which can be read and set, so a shoe shuffled with it
+ * can be saved and restored exactly, see BlackJack.snapshot().
+ * <p/>
+ * Like the shoe it shuffles, it must not be shared between threads.
+ */
+
+public class SeededRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Create a random with a seed of its own
+     */
+    public SeededRandom() {
+        this(new Random().nextLong());
+    }
+
+    /**
+     * @param seed seed of the random, the same seed gives the same numbers
+     */
+    public SeededRandom(long seed) {
+        super(seed);
+        state = seed;
+    }
+
+    /**
+     * Random calls this from its constructor as well
+     */
+    @Override
+    public void setSeed(long seed) {
+        state = seed;
+    }
+
+    /**
+     * @return state to continue from with setState
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * @param state state returned by getState
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Uniform int from 0 to bound - 1 by multiplying instead of dividing,
+     * rejecting the few values which would make it biased.
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        long m = (nextLong() >>> 32) * bound;
+        if ((m & 0xFFFFFFFFL) < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while ((m & 0xFFFFFFFFL) < threshold) {
+                m = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+}
@@ -0,0 +1,368 @@
+package blackjack;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SelectorServer hosts many BlackJack tables on a single thread. It speaks
+ * the same line protocol as TableServer but never waits on a connection:
+ * a selector tells it which connections have input, the input is split into
+ * tokens by a TokenParser and played by the TableSession of the connection,
+ * and the output is written as the connection can take it.
+ * <p/>
+ * As with TableServer the number of tables is limited, idle sessions are
+ * closed, the tables shuffle with a SECURE engine and may log their hands
+ * and the server only listens on the loopback address. A session failing on
+ * its input is closed on its own, the other tables play on.
+ */
+
+public class SelectorServer {
+
+    private static final byte[] FULL = "All tables are taken. Please try again later.\n"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final int port;
+
+    private final int maxTables;
+
+    private final long idleNanos;
+
+    /**
+     * Input of every connection is read into this buffer. Only the selector
+     * thread uses it and the sessions parse it before the next read.
+     */
+    private final ByteBuffer input = ByteBuffer.allocateDirect(8192);
+
+    private Selector selector;
+
+    private ServerSocketChannel serverChannel;
+
+    private int tables;
+
+    /**
+     * Directory of the hand logs, null to log no hands
+     */
+    private Path handLogs;
+
+    /**
+     * Number of the next table, names its hand log
+     */
+    private long nextTable;
+
+    /**
+     * @param port        port to listen on, 0 for any free port
+     * @param maxTables   number of tables that may be open at once
+     * @param idleSeconds seconds to wait for the player's input before closing
+     *                    the session
+     */
+    public SelectorServer(int port, int maxTables, int idleSeconds) {
+        if (maxTables < 1 || idleSeconds < 1) {
+            throw new IllegalArgumentException("Invalid tables " + maxTables + " or idle timeout " + idleSeconds);
+        }
+        this.port = port;
+        this.maxTables = maxTables;
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+    }
+
+    /**
+     * Log the hands of every table from now on, see TableServer.setHandLogs.
+     *
+     * @param directory directory of the logs of the tables
+     */
+    public void setHandLogs(Path directory) {
+        this.handLogs = directory;
+    }
+
+    /**
+     * Bind the server channel.
+     *
+     * @return the port the server listens on
+     */
+    public int bind() {
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+            return serverChannel.socket().getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serve the tables until the server is closed.
+     */
+    public void serve() {
+        if (selector == null) {
+            bind();
+        }
+        // Look for idle sessions once a second, not after every event
+        long idleCheck = Math.min(TimeUnit.NANOSECONDS.toMillis(idleNanos), 1000);
+        long idleCheckNanos = TimeUnit.MILLISECONDS.toNanos(idleCheck);
+        long lastIdleCheck = System.nanoTime();
+        try {
+            while (serverChannel.isOpen()) {
+                selector.select(idleCheck);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            read(key, connection);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            write(key, connection);
+                        }
+                    } catch (RuntimeException e) {
+                        // A bug in one table, e.g. its shoe running out, only ends that session
+                        if (key.isValid()) {
+                            closeSession(key, connection);
+                        }
+                    }
+                }
+                long now = System.nanoTime();
+                if (now - lastIdleCheck >= idleCheckNanos) {
+                    closeIdle(now);
+                    lastIdleCheck = now;
+                }
+            }
+        } catch (IOException e) {
+            if (serverChannel.isOpen()) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            if (tables >= maxTables) {
+                // Best effort, the connection is closed either way
+                channel.write(ByteBuffer.wrap(FULL));
+                channel.close();
+                continue;
+            }
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection connection = new Connection();
+            try {
+                connection.handLog = TableServer.openHandLog(handLogs, nextTable++);
+                connection.session = new TableSession(connection.printStream,
+                        ShuffleEngine.create(ShuffleEngine.Algorithm.SECURE, 0), connection.handLog);
+            } catch (RuntimeException e) {
+                // The table can't be opened, e.g. its hand log can't be created
+                if (connection.handLog != null) {
+                    connection.handLog.close();
+                }
+                channel.close();
+                continue;
+            }
+            connection.lastInput = System.nanoTime();
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ, connection);
+            tables++;
+            write(key, connection);
+        }
+    }
+
+    private void read(SelectionKey key, Connection connection) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        int read;
+        try {
+            input.clear();
+            read = channel.read(input);
+        } catch (IOException e) {
+            read = -1;
+        }
+        if (read < 0) {
+            close(key);
+            return;
+        }
+        input.flip();
+        connection.lastInput = System.nanoTime();
+        connection.session.read(input);
+        write(key, connection);
+    }
+
+    /**
+     * Write as much of the pending output as the connection takes. Waits for
+     * the connection to be writable if it doesn't take all of it, and closes
+     * a finished session once everything was written.
+     */
+    private void write(SelectionKey key, Connection connection) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer output = connection.output.buffer;
+        try {
+            output.flip();
+            channel.write(output);
+            output.compact();
+        } catch (IOException e) {
+            close(key);
+            return;
+        }
+        if (output.position() > 0) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else if (connection.session.isClosed()) {
+            close(key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void closeIdle(long now) {
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof Connection) {
+                Connection connection = (Connection) key.attachment();
+                if (now - connection.lastInput > idleNanos) {
+                    closeSession(key, connection);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tell the player the session is closed, as far as the connection takes
+     * it, and close the connection.
+     */
+    private void closeSession(SelectionKey key, Connection connection) {
+        connection.printStream.println("\nSession closed.");
+        ByteBuffer output = connection.output.buffer;
+        output.flip();
+        try {
+            ((SocketChannel) key.channel()).write(output);
+        } catch (IOException e) {
+            // The connection is closed either way
+        }
+        close(key);
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Nothing left to clean up
+        }
+        closeHandLog(key);
+        tables--;
+    }
+
+    private static void closeHandLog(SelectionKey key) {
+        if (key.attachment() instanceof Connection && ((Connection) key.attachment()).handLog != null) {
+            ((Connection) key.attachment()).handLog.close();
+        }
+    }
+
+    /**
+     * @return number of tables open
+     */
+    public int getTables() {
+        return tables;
+    }
+
+    /**
+     * Stop serving. Open sessions are closed.
+     */
+    public void close() {
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+            if (selector != null) {
+                for (SelectionKey key : selector.keys()) {
+                    key.channel().close();
+                    closeHandLog(key);
+                }
+                selector.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Output of a session waiting to be written to its connection
+     */
+    private static class Output extends OutputStream {
+
+        private ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            buffer.put(bytes, offset, length);
+        }
+
+        private void ensureCapacity(int length) {
+            if (buffer.remaining() < length) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+    }
+
+    private static class Connection {
+
+        private final Output output = new Output();
+
+        private final PrintStream printStream = new PrintStream(output, false, StandardCharsets.UTF_8);
+
+        private TableSession session;
+
+        private HandLogWriter handLog;
+
+        private long lastInput;
+    }
+
+    /**
+     * Start the server.
+     *
+     * @param args optional port, number of tables, idle timeout in seconds and
+     *             directory of the hand logs
+     */
+    public static void main(String[] args) {
+        Metrics.exportIfEnabled();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : TableServer.DEFAULT_PORT;
+        int maxTables = args.length > 1 ? Integer.parseInt(args[1]) : TableServer.DEFAULT_TABLES;
+        int idleSeconds = args.length > 2 ? Integer.parseInt(args[2]) : TableServer.DEFAULT_IDLE_SECONDS;
+
+        SelectorServer server = new SelectorServer(port, maxTables, idleSeconds);
+        if (args.length > 3) {
+            server.setHandLogs(Path.of(args[3]));
+        }
+        System.out.println("BlackJack selector server listening on port " + server.bind()
+                + " for up to " + maxTables + " tables");
+        server.serve();
+    }
+}
@@ -0,0 +1,419 @@
+package blackjack;
+
+import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * The Shoe holds the cards the dealer deals from. Instead of a list of Card
+ * objects, each card is stored as a single byte code (suit ordinal * 13 +
+ * CardType ordinal) and a cursor points to the next card to deal. Dealing a
+ * card is a simple array read and the cards that were dealt stay in the
+ * array, in front of the cursor, until the shoe is shuffled again.
+ * <p/>
+ * Dealing a card looks up the shared Card of its code, see Card.of. The
+ * codes are also used where no Card object is needed at all.
+ * <p/>
+ * A shoe may hold several decks. A cut card is placed at the given
+ * penetration i.e. the percentage of the cards dealt before the shoe has to
+ * be shuffled. Alternatively the shoe can act as a continuous shuffling
+ * machine: the cards of every round go back into the shoe at random
+ * positions as soon as the round is over, so the shoe never needs a full
+ * shuffle. Either way the shuffle work per hand doesn't grow with the number
+ * of decks and no Card object is ever created.
+ * <p/>
+ * The cards are shuffled in place by a ShuffleEngine, with the generator of
+ * its choice.
+ */
+
+public class Shoe {
+
+    /**
+     * Number of cards in a single deck
+     */
+    static final int DECK_SIZE = 52;
+
+    /**
+     * Card codes. Cards before the cursor have been dealt.
+     */
+    private byte[] cards;
+
+    /**
+     * Number of cards the shoe was made with. It only holds more while the
+     * decks opened by a round that ran out of cards are in it, see addDeck.
+     */
+    private int size;
+
+    /**
+     * Index of the next card to deal
+     */
+    private int cursor;
+
+    /**
+     * Index of the first card dealt in the current round. Cards from here
+     * up to the cursor are still in play.
+     */
+    private int roundStart;
+
+    /**
+     * Position of the cut card. The shoe needs a shuffle once the
+     * cursor reaches it.
+     */
+    private int cutCard;
+
+    /**
+     * True if the cards are returned to the shoe after every round
+     */
+    private boolean continuousShuffle;
+
+    /**
+     * Number of times the cards were shuffled back into the shoe
+     */
+    private long shuffles;
+
+    private ShuffleEngine engine;
+
+    /**
+     * Create a single deck shoe which needs a shuffle once 10 or
+     * less cards are left. The cards are not shuffled yet.
+     *
+     * @param random used to shuffle the cards
+     */
+    public Shoe(Random random) {
+        this(new ShuffleEngine(random));
+    }
+
+    /**
+     * Create a single deck shoe which needs a shuffle once 10 or
+     * less cards are left. The cards are not shuffled yet.
+     *
+     * @param engine shuffles the cards
+     */
+    public Shoe(ShuffleEngine engine) {
+        this(1, engine);
+        cutCard = DECK_SIZE - 10;
+    }
+
+    /**
+     * Create a shoe which is shuffled by the continuous shuffling machine.
+     *
+     * @param decks  number of decks in the shoe
+     * @param random used to shuffle the cards
+     */
+    public static Shoe continuousShuffle(int decks, Random random) {
+        return continuousShuffle(decks, new ShuffleEngine(random));
+    }
+
+    /**
+     * Create a shoe which is shuffled by the continuous shuffling machine.
+     *
+     * @param decks  number of decks in the shoe
+     * @param engine shuffles the cards
+     */
+    public static Shoe continuousShuffle(int decks, ShuffleEngine engine) {
+        Shoe shoe = new Shoe(decks, engine);
+        shoe.continuousShuffle = true;
+        shoe.cutCard = shoe.cards.length;
+        return shoe;
+    }
+
+    /**
+     * Create a shoe with a cut card. The cards are not shuffled yet.
+     *
+     * @param decks       number of decks in the shoe
+     * @param penetration percentage of the cards dealt before a shuffle (1 - 100)
+     * @param random      used to shuffle the cards
+     */
+    public Shoe(int decks, int penetration, Random random) {
+        this(decks, penetration, new ShuffleEngine(random));
+    }
+
+    /**
+     * Create a shoe with a cut card. The cards are not shuffled yet.
+     *
+     * @param decks       number of decks in the shoe
+     * @param penetration percentage of the cards dealt before a shuffle (1 - 100)
+     * @param engine      shuffles the cards
+     */
+    public Shoe(int decks, int penetration, ShuffleEngine engine) {
+        this(decks, engine);
+        if (penetration < 1 || penetration > 100) {
+            throw new IllegalArgumentException("Penetration must be between 1 and 100: " + penetration);
+        }
+        cutCard = cards.length * penetration / 100;
+    }
+
+    private Shoe(int decks, ShuffleEngine engine) {
+        if (decks < 1) {
+            throw new IllegalArgumentException("A shoe needs at least one deck: " + decks);
+        }
+        this.engine = engine;
+        size = decks * DECK_SIZE;
+        cards = newDecks(size);
+    }
+
+    /**
+     * @param length number of cards, a multiple of DECK_SIZE
+     * @return codes of that many cards in deck order
+     */
+    private static byte[] newDecks(int length) {
+        byte[] cards = new byte[length];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) (i % DECK_SIZE);
+        }
+        return cards;
+    }
+
+    /**
+     * @param suit     suit of the card
+     * @param cardType type of the card
+     * @return code of the card
+     */
+    static int code(Suit suit, CardType cardType) {
+        return suit.ordinal() * CardType.values().length + cardType.ordinal();
+    }
+
+    /**
+     * Deal the next card. If the shoe runs out in the middle of a round, the
+     * cards of the earlier rounds are shuffled back in first.
+     *
+     * @return code of the dealt card
+     */
+    public int dealCode() {
+        if (cursor == cards.length) {
+            recycle();
+        }
+        return cards[cursor++];
+    }
+
+    /**
+     * Deal the next card.
+     *
+     * @return the dealt card
+     */
+    public Card deal() {
+        return Card.of(dealCode());
+    }
+
+    /**
+     * @return number of cards left to deal
+     */
+    public int remaining() {
+        return cards.length - cursor;
+    }
+
+    /**
+     * Count the cards left to deal by rank, see DealerProbabilities.
+     *
+     * @param composition filled with the count of every rank
+     */
+    public void countRemaining(int[] composition) {
+        Arrays.fill(composition, 0);
+        CardType[] types = CardType.values();
+        for (int i = cursor; i < cards.length; i++) {
+            composition[DealerProbabilities.rank(types[cards[i] % types.length])]++;
+        }
+    }
+
+    /**
+     * @return number of decks in the shoe
+     */
+    public int getDecks() {
+        return cards.length / DECK_SIZE;
+    }
+
+    /**
+     * @return true once the cut card has been reached
+     */
+    public boolean needsShuffle() {
+        return cursor >= cutCard;
+    }
+
+    /**
+     * Called once the cards of a round are done with. They become part of
+     * the dealt cards that may be shuffled back in.
+     * <p/>
+     * A continuous shuffling machine puts them back into the shoe right
+     * away, see ShuffleEngine.shuffleIn.
+     */
+    public void endRound() {
+        if (continuousShuffle && cards.length > size) {
+            shuffle();
+        } else if (continuousShuffle) {
+            engine.shuffleIn(cards, cursor);
+            cursor = 0;
+            shuffles++;
+        }
+        roundStart = cursor;
+    }
+
+    /**
+     * Shuffle all the cards back into the shoe. Should only be called
+     * between rounds since no card is in play afterwards. Decks opened
+     * during a round are taken out again.
+     */
+    public void shuffle() {
+        if (cards.length > size) {
+            cards = newDecks(size);
+        }
+        engine.shuffle(cards, 0);
+        cursor = 0;
+        roundStart = 0;
+        shuffles++;
+    }
+
+    /**
+     * @return number of times the cards were shuffled back into the shoe
+     */
+    public long getShuffles() {
+        return shuffles;
+    }
+
+    /**
+     * @return number of cards out of the shoe, in front of the cursor
+     */
+    int dealt() {
+        return cursor;
+    }
+
+    /**
+     * @param index index of a card in front of the cursor
+     * @return code of the card
+     */
+    int dealtCode(int index) {
+        return cards[index];
+    }
+
+    /**
+     * Move the cards of the current round to the front of the shoe and
+     * shuffle the cards of the earlier rounds behind them. If the round
+     * holds every card of the shoe, open a new deck instead.
+     */
+    private void recycle() {
+        if (roundStart == 0) {
+            addDeck();
+            return;
+        }
+        int inPlay = cards.length - roundStart;
+
+        // Rotating by reversing the two parts and then the whole array
+        reverse(0, roundStart);
+        reverse(roundStart, cards.length);
+        reverse(0, cards.length);
+
+        engine.shuffle(cards, inPlay);
+        cursor = inPlay;
+        roundStart = 0;
+        shuffles++;
+    }
+
+    /**
+     * Put a new shuffled deck behind the cards in play. Only a round of many
+     * split hands on a small shoe gets that far, so rather than refusing
+     * such a table up front the dealer opens a deck when it happens. The
+     * count goes on since the cards in play stay out, see shuffle.
+     */
+    private void addDeck() {
+        int length = cards.length;
+        cards = Arrays.copyOf(cards, length + DECK_SIZE);
+        for (int i = 0; i < DECK_SIZE; i++) {
+            cards[length + i] = (byte) i;
+        }
+        engine.shuffle(cards, length);
+    }
+
+    /**
+     * @return number of bytes written by writeTo
+     */
+    int snapshotSize() {
+        return 5 * 4 + 1 + 2 * 8 + cards.length;
+    }
+
+    /**
+     * Save the order of the cards, the cursor and the state of the random so
+     * readFrom continues with exactly the same cards and shuffles.
+     *
+     * @param buffer buffer to write to
+     */
+    void writeTo(ByteBuffer buffer) {
+        if (!(engine.getGenerator() instanceof SeededRandom)) {
+            throw new IllegalStateException("Only a shoe shuffled with a SeededRandom can be saved");
+        }
+        buffer.putInt(size);
+        buffer.putInt(cards.length);
+        buffer.putInt(cursor);
+        buffer.putInt(roundStart);
+        buffer.putInt(cutCard);
+        buffer.put((byte) (continuousShuffle ? 1 : 0));
+        buffer.putLong(shuffles);
+        buffer.putLong(((SeededRandom) engine.getGenerator()).getState());
+        buffer.put(cards);
+    }
+
+    /**
+     * Restore the shoe saved by writeTo.
+     *
+     * @param buffer buffer to read from
+     */
+    void readFrom(ByteBuffer buffer) {
+        if (!(engine.getGenerator() instanceof SeededRandom)) {
+            throw new IllegalStateException("Only a shoe shuffled with a SeededRandom can be restored");
+        }
+        int start = buffer.position();
+        checkSnapshot(buffer);
+        buffer.position(start + 4);
+        int length = buffer.getInt();
+        if (length != cards.length) {
+            cards = new byte[length];
+        }
+        cursor = buffer.getInt();
+        roundStart = buffer.getInt();
+        cutCard = buffer.getInt();
+        continuousShuffle = buffer.get() != 0;
+        shuffles = buffer.getLong();
+        ((SeededRandom) engine.getGenerator()).setState(buffer.getLong());
+        buffer.get(cards);
+    }
+
+    /**
+     * Check the shoe saved by writeTo fits this shoe and skip it, so a table
+     * can check its whole snapshot before it restores any of it.
+     *
+     * @param buffer buffer to read from
+     */
+    void checkSnapshot(ByteBuffer buffer) {
+        int savedSize = buffer.getInt();
+        if (savedSize != size) {
+            throw new IllegalArgumentException("Snapshot of a " + savedSize / DECK_SIZE
+                    + " deck shoe can't be restored into a " + size / DECK_SIZE + " deck shoe");
+        }
+        // A round may have opened more decks
+        int length = buffer.getInt();
+        if (length < size || length % DECK_SIZE != 0) {
+            throw new IllegalArgumentException("Snapshot of a shoe of " + length + " cards");
+        }
+        int savedCursor = buffer.getInt();
+        int savedRoundStart = buffer.getInt();
+        int savedCutCard = buffer.getInt();
+        if (savedRoundStart < 0 || savedRoundStart > savedCursor || savedCursor > length
+                || savedCutCard < 0 || savedCutCard > length) {
+            throw new IllegalArgumentException("Snapshot of a shoe with cursor " + savedCursor
+                    + ", round start " + savedRoundStart + " and cut card " + savedCutCard);
+        }
+        buffer.position(buffer.position() + 1 + 2 * 8);
+        for (int i = 0; i < length; i++) {
+            int code = buffer.get();
+            if (code < 0 || code >= DECK_SIZE) {
+                throw new IllegalArgumentException("Snapshot of a card with code " + code);
+            }
+        }
+    }
+
+    private void reverse(int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            byte card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package blackjack;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * ShuffleEngine shuffles the card codes of a Shoe in place with the
+ * Fisher-Yates shuffle, taking the random positions from a RandomGenerator
+ * of the chosen Algorithm.
+ * <p/>
+ * The positions are drawn in batches: one random long is multiplied by the
+ * bound of each position in turn, the high 64 bits of the product being the
+ * position and the low 64 bits carried over to the next one. The batch is
+ * only drawn again in the rare case where that would be biased, see
+ * Brackett-Rozinsky and Lemire, Batched Ranged Random Integer Generation.
+ * The batch is as large as the product of the bounds allows, so shuffling
+ * an 8 deck shoe takes 70 random longs instead of 415.
+ * <p/>
+ * Like the shoe it shuffles, an engine must not be shared between threads.
+ */
+
+public class ShuffleEngine {
+
+    /**
+     * Generators of the random positions
+     */
+    public enum Algorithm {
+        /**
+         * SplitMix64 of a SeededRandom, the only one a table snapshot can save
+         */
+        SPLIT_MIX,
+        SPLITTABLE,
+        XOSHIRO,
+        L64X,
+        /**
+         * L64X256MixRandom with its whole state seeded from SecureRandom, and
+         * seeded again before every full shuffle and once a continuous
+         * shuffling machine has shuffled in as many cards as the shoe holds,
+         * so no shoe can be predicted from earlier ones. Ignores the seed.
+         */
+        SECURE
+    }
+
+    private static final int MAX_BATCH = 6;
+
+    /**
+     * Bytes of the whole state of L64X256MixRandom: the four longs of the
+     * xoshiro part, the LCG state and its addend
+     */
+    private static final int SECURE_SEED_BYTES = 6 * 8;
+
+    private static final SecureRandom SEEDS = new SecureRandom();
+
+    private RandomGenerator generator;
+
+    /**
+     * Creates the generator again from a secure seed, null unless SECURE
+     */
+    private final RandomGeneratorFactory<RandomGenerator> secureFactory;
+
+    /**
+     * Cards shuffled since the SECURE generator was last seeded
+     */
+    private long shuffledSinceSeed;
+
+    /**
+     * Positions of the current batch
+     */
+    private final int[] positions = new int[MAX_BATCH];
+
+    /**
+     * @param generator generator of the random positions e.g. a SeededRandom
+     */
+    public ShuffleEngine(RandomGenerator generator) {
+        this.generator = generator;
+        this.secureFactory = null;
+    }
+
+    private ShuffleEngine(RandomGeneratorFactory<RandomGenerator> secureFactory) {
+        this.secureFactory = secureFactory;
+        this.generator = secureFactory.create(secureSeed());
+    }
+
+    /**
+     * @param algorithm generator of the random positions
+     * @param seed      seed of the generator, the same seed gives the same shuffles
+     * @return a new engine
+     */
+    public static ShuffleEngine create(Algorithm algorithm, long seed) {
+        switch (algorithm) {
+            case SPLITTABLE:
+                return new ShuffleEngine(new SplittableRandom(seed));
+            case XOSHIRO:
+                return new ShuffleEngine(RandomGeneratorFactory.of("Xoshiro256PlusPlus").create(seed));
+            case L64X:
+                return new ShuffleEngine(RandomGeneratorFactory.of("L64X128MixRandom").create(seed));
+            case SECURE:
+                return new ShuffleEngine(RandomGeneratorFactory.of("L64X256MixRandom"));
+            default:
+                return new ShuffleEngine(new SeededRandom(seed));
+        }
+    }
+
+    /**
+     * A long seed would only reach 2^64 of the states of the generator, so
+     * the whole state is seeded with secure random bytes instead.
+     */
+    private static byte[] secureSeed() {
+        byte[] seed = new byte[SECURE_SEED_BYTES];
+        SEEDS.nextBytes(seed);
+        return seed;
+    }
+
+    /**
+     * Seed the SECURE generator again if it shuffles the whole shoe or has
+     * shuffled as many cards as the shoe holds since it was last seeded.
+     */
+    private void reseed(int length, boolean full) {
+        if (secureFactory != null && (full || shuffledSinceSeed >= length)) {
+            generator = secureFactory.create(secureSeed());
+            shuffledSinceSeed = 0;
+        }
+    }
+
+    RandomGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Fisher-Yates shuffle of the cards from the given index to the end.
+     * The engine of the SECURE algorithm is seeded again first if from is 0,
+     * see reseed.
+     *
+     * @param cards card codes
+     * @param from  first card to shuffle
+     */
+    void shuffle(byte[] cards, int from) {
+        reseed(cards.length, from == 0);
+        shuffledSinceSeed += cards.length - from;
+        int i = cards.length - 1;
+        int batch = batchSize(cards.length - from);
+        while (i > from) {
+            int bound = i - from + 1;
+            int count = Math.min(batch, bound - 1);
+            draw(bound, -1, count);
+            for (int k = 0; k < count; k++) {
+                swap(cards, i - k, from + positions[k]);
+            }
+            i -= count;
+        }
+    }
+
+    /**
+     * Shuffle the first dealt cards back among the cards still to deal. Each
+     * of them, last first, is swapped with a random card from itself to the
+     * end, which is the Fisher-Yates shuffle for these cards while the cards
+     * not dealt yet are already in random order. Used by a continuous
+     * shuffling machine, the engine of the SECURE algorithm is seeded again
+     * first when due, see reseed.
+     *
+     * @param cards card codes
+     * @param dealt number of cards dealt from the front
+     */
+    void shuffleIn(byte[] cards, int dealt) {
+        reseed(cards.length, false);
+        shuffledSinceSeed += dealt;
+        int i = dealt - 1;
+        int batch = batchSize(cards.length);
+        while (i >= 0) {
+            int count = Math.min(batch, i + 1);
+            draw(cards.length - i, 1, count);
+            for (int k = 0; k < count; k++) {
+                swap(cards, i - k, i - k + positions[k]);
+            }
+            i -= count;
+        }
+    }
+
+    /**
+     * @return most positions whose bounds, none above maxBound, multiply to
+     * less than 2^63
+     */
+    private static int batchSize(int maxBound) {
+        if (maxBound <= 1 << 10) {
+            return MAX_BATCH;
+        }
+        return maxBound <= 1 << 21 ? 3 : 2;
+    }
+
+    /**
+     * Draw count positions into positions, each from 0 to its bound - 1. The
+     * bounds start at bound and change by step from one position to the next.
+     */
+    private void draw(int bound, int step, int count) {
+        long product = 1;
+        for (int k = 0; k < count; k++) {
+            product *= bound + k * step;
+        }
+        long rest = split(generator.nextLong(), bound, step, count);
+        if (Long.compareUnsigned(rest, product) < 0) {
+            long threshold = Long.remainderUnsigned(-product, product);
+            while (Long.compareUnsigned(rest, threshold) < 0) {
+                rest = split(generator.nextLong(), bound, step, count);
+            }
+        }
+    }
+
+    /**
+     * @return the low bits left of the random
+     */
+    private long split(long random, int bound, int step, int count) {
+        for (int k = 0; k < count; k++) {
+            long b = bound + k * step;
+            // High 64 bits of the unsigned product
+            positions[k] = (int) (Math.multiplyHigh(random, b) + (random >> 63 & b));
+            random *= b;
+        }
+        return random;
+    }
+
+    private static void swap(byte[] cards, int i, int j) {
+        byte card = cards[i];
+        cards[i] = cards[j];
+        cards[j] = card;
+    }
+}
@@ -0,0 +1,162 @@
+package blackjack;
+
+/**
+ * SimulationStats accumulates the outcome of the hands played by a
+ * simulation worker. Every worker owns its own instance so nothing is
+ * shared while the hands are played; the instances are merged once the
+ * workers are done.
+ * <p/>
+ * Only counters are kept (no hands or cards) so an instance has the same
+ * size no matter how many hands are recorded.
+ */
+
+public class SimulationStats {
+
+    /**
+     * Rounds played i.e. number of bets placed on a fresh hand
+     */
+    long rounds;
+
+    /**
+     * Hands evaluated. A split round evaluates two hands.
+     */
+    long hands;
+
+    long wins;
+
+    long losses;
+
+    long ties;
+
+    /**
+     * Hands won with a BlackJack
+     */
+    long blackJacks;
+
+    /**
+     * Pairs split, a hand split again counting once more
+     */
+    long splits;
+
+    /**
+     * Hands doubled down and hands surrendered
+     */
+    long doubles;
+
+    long surrenders;
+
+    /**
+     * Insurance bets taken
+     */
+    long insurances;
+
+    /**
+     * Total chips put at risk including the split and double bets
+     */
+    long wagered;
+
+    /**
+     * Chips won (positive) or lost (negative) by the player, including
+     * the insurance bets
+     */
+    long net;
+
+    /**
+     * Record a hand once it has been evaluated.
+     *
+     * @param hand evaluated player hand
+     */
+    void record(PlayerHand hand) {
+        record(hand.getBet(), hand.getChipDelta(), hand.getResult(), hand.isBlackJack());
+    }
+
+    /**
+     * Record the outcome of a hand e.g. read from a hand log.
+     *
+     * @param bet       chips bet on the hand
+     * @param chips     chips won (positive) or lost (negative)
+     * @param result    W, L or T
+     * @param blackJack true if the hand was a BlackJack
+     */
+    void record(int bet, int chips, char result, boolean blackJack) {
+        hands++;
+        wagered += bet;
+        net += chips;
+        if (result == 'W') {
+            wins++;
+            if (blackJack) {
+                blackJacks++;
+            }
+        } else if (result == 'L') {
+            losses++;
+        } else if (result == 'T') {
+            ties++;
+        }
+    }
+
+    /**
+     * Record an insurance bet once the dealer's hand is known.
+     *
+     * @param chips chips won (positive) or lost (negative) with the insurance
+     */
+    void recordInsurance(int chips) {
+        insurances++;
+        net += chips;
+    }
+
+    /**
+     * Add the counters of another worker to this one.
+     *
+     * @param other stats of another worker
+     * @return this instance
+     */
+    SimulationStats merge(SimulationStats other) {
+        rounds += other.rounds;
+        hands += other.hands;
+        wins += other.wins;
+        losses += other.losses;
+        ties += other.ties;
+        blackJacks += other.blackJacks;
+        splits += other.splits;
+        doubles += other.doubles;
+        surrenders += other.surrenders;
+        insurances += other.insurances;
+        wagered += other.wagered;
+        net += other.net;
+        return this;
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public long getHands() {
+        return hands;
+    }
+
+    public long getNet() {
+        return net;
+    }
+
+    public long getWagered() {
+        return wagered;
+    }
+
+    /**
+     * @return house edge as a fraction of the chips wagered
+     */
+    public double getHouseEdge() {
+        return wagered == 0 ? 0 : -(double) net / wagered;
+    }
+
+    public String toString() {
+        return "Rounds: " + rounds + " Hands: " + hands
+                + " Wins: " + wins + " Losses: " + losses + " Ties: " + ties
+                + " BlackJacks: " + blackJacks + " Splits: " + splits
+                + (doubles > 0 ? " Doubles: " + doubles : "")
+                + (surrenders > 0 ? " Surrenders: " + surrenders : "")
+                + (insurances > 0 ? " Insurances: " + insurances : "")
+                + " Wagered: " + wagered + " Net: " + net
+                + String.format(" House Edge: %.4f%%", getHouseEdge() * 100);
+    }
+}
@@ -0,0 +1,441 @@
+package blackjack;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Simulator plays a large number of headless rounds to measure the house
+ * edge of a strategy. The rounds are split into fixed size chunks which are
+ * played in parallel on a fork/join pool.
+ * <p/>
+ * BlackJack holds the deck and the hands of a single table, so it can't be
+ * shared between threads. Each chunk therefore plays on its own table with
+ * its own deck and strategies and collects its own SimulationStats. The
+ * stats are merged when the chunks join.
+ * <p/>
+ * The random seed of every chunk is taken from a SplittableRandom which is
+ * split along with the rounds. The chunks and their seeds only depend on
+ * the number of rounds and the seed, not on the number of threads, so the
+ * same input always produces the same result.
+ */
+
+public class Simulator {
+
+    /**
+     * Rounds played by a single table before the work is no longer split
+     */
+    static final long CHUNK = 1000000;
+
+    /**
+     * Chips given to the table's player. The player is topped up to this
+     * amount before every round so the bankroll never runs out.
+     */
+    static final int BANKROLL = 1000000;
+
+    /**
+     * Chips in a betting unit of the command line simulation. Payouts are
+     * rounded down to whole chips, so a unit of 10 chips is paid exactly on
+     * a 3 to 2 or 6 to 5 BlackJack and a surrender.
+     */
+    static final int UNIT = 10;
+
+    private Supplier<BetStrategy> betStrategy;
+
+    private Supplier<ActionStrategy> actionStrategy;
+
+    private ForkJoinPool pool;
+
+    /**
+     * Number of decks in each table's shoe, 0 for the single deck shoe
+     * of the interactive game
+     */
+    private int decks;
+
+    /**
+     * Percentage of the shoe dealt before a shuffle
+     */
+    private int penetration;
+
+    /**
+     * True if each table deals from a continuous shuffling machine
+     */
+    private boolean continuousShuffle;
+
+    /**
+     * Counting system of the bet ramp, null to use the bet strategy
+     */
+    private CountSystem countSystem;
+
+    private int unit;
+
+    private int[] ramp;
+
+    /**
+     * Number of seats at each table and spots played by each seat
+     */
+    private int seats = 1;
+
+    private int spots = 1;
+
+    /**
+     * House rules of every table
+     */
+    private Rules rules = new Rules();
+
+    /**
+     * Generator the shoes are shuffled with
+     */
+    private ShuffleEngine.Algorithm shuffle = ShuffleEngine.Algorithm.SPLIT_MIX;
+
+    /**
+     * Directory of the hand logs, null to log no hands
+     */
+    private Path handLogs;
+
+    /**
+     * Directory the hands are rendered to, null to render nothing
+     */
+    private Path handText;
+
+    /**
+     * Strategies are created once per table since they may keep state.
+     *
+     * @param betStrategy    creates the bet strategy of a table
+     * @param actionStrategy creates the action strategy of a table
+     */
+    public Simulator(Supplier<BetStrategy> betStrategy, Supplier<ActionStrategy> actionStrategy) {
+        this.betStrategy = betStrategy;
+        this.actionStrategy = actionStrategy;
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Use a multi-deck shoe on each table.
+     *
+     * @param decks             number of decks in the shoe
+     * @param penetration       percentage of the shoe dealt before a shuffle
+     * @param continuousShuffle true to use a continuous shuffling machine instead
+     */
+    public void setShoe(int decks, int penetration, boolean continuousShuffle) {
+        this.decks = decks;
+        this.penetration = penetration;
+        this.continuousShuffle = continuousShuffle;
+    }
+
+    /**
+     * Count the cards on each table and bet with a BetRamp instead of the
+     * bet strategy.
+     *
+     * @param system counting system
+     * @param unit   chips in one unit
+     * @param ramp   units to bet by true count, starting at 0
+     */
+    public void setBetRamp(CountSystem system, int unit, int[] ramp) {
+        this.countSystem = system;
+        this.unit = unit;
+        this.ramp = ramp;
+    }
+
+    /**
+     * Seat several players at each table, each playing several spots. The
+     * dealer plays a single hand for all of them, so a round plays
+     * seats * spots hands.
+     *
+     * @param seats number of seats at each table
+     * @param spots number of spots played by each seat
+     */
+    public void setSeats(int seats, int spots) {
+        if (seats < 1 || spots < 1) {
+            throw new IllegalArgumentException("Invalid seats " + seats + " or spots " + spots);
+        }
+        this.seats = seats;
+        this.spots = spots;
+    }
+
+    /**
+     * Play with the given house rules. The rules are shared by the tables and
+     * must not be changed while the simulation runs.
+     *
+     * @param rules rules of every table
+     */
+    public void setRules(Rules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Shuffle the shoes with another generator than the SplitMix64 of a SeededRandom.
+     *
+     * @param shuffle generator of every table's shuffles
+     */
+    public void setShuffle(ShuffleEngine.Algorithm shuffle) {
+        this.shuffle = shuffle;
+    }
+
+    /**
+     * Log every hand played. A writer is not thread safe, so every table logs
+     * to a directory of its own named after its first round, e.g.
+     * rounds-000001000000, which HandLogReader can replay.
+     *
+     * @param directory directory of the logs of the tables
+     */
+    public void setHandLogs(Path directory) {
+        this.handLogs = directory;
+    }
+
+    /**
+     * Render every hand played as the interactive game would print it. Every
+     * table writes to a file of its own named after its first round, e.g.
+     * rounds-000001000000.txt, through a buffered Renderer.
+     *
+     * @param directory directory of the files
+     */
+    public void setHandText(Path directory) {
+        this.handText = directory;
+    }
+
+    /**
+     * Settle every hand of the logs again with a BatchHandEvaluator, see
+     * HandLogReader.audit.
+     *
+     * @return number of hands settled differently than logged, 0 for sound logs
+     */
+    public long auditHandLogs() {
+        try (var tables = Files.list(handLogs)) {
+            return tables.mapToLong(table -> new HandLogReader(table).audit(rules)).sum();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return a new shoe for a table
+     */
+    Shoe createShoe(long seed) {
+        ShuffleEngine engine = ShuffleEngine.create(shuffle, seed);
+        if (decks == 0) {
+            return new Shoe(engine);
+        }
+        if (continuousShuffle) {
+            return Shoe.continuousShuffle(decks, engine);
+        }
+        return new Shoe(decks, penetration, engine);
+    }
+
+    /**
+     * Play the rounds on all available cores.
+     *
+     * @param rounds number of rounds to play
+     * @param seed   seed for the deck shuffles
+     * @return merged stats of all the rounds
+     */
+    public SimulationStats run(long rounds, long seed) {
+        return pool.invoke(new SimulationTask(0, rounds, new SplittableRandom(seed)));
+    }
+
+    /**
+     * Play the rounds on a single table.
+     *
+     * @param first number of the first round in the whole simulation, names the hand log
+     */
+    SimulationStats play(long first, long rounds, long seed) {
+        SimulationStats stats = new SimulationStats();
+        Shoe shoe = createShoe(seed);
+        CountTracker tracker = countSystem == null ? null : new CountTracker(countSystem, shoe);
+        BlackJack table = new BlackJack(BANKROLL, createBetStrategy(tracker), actionStrategy.get(), shoe);
+        table.getSeats().get(0).setSpots(spots);
+        for (int i = 1; i < seats; i++) {
+            table.addSeat(BANKROLL, createBetStrategy(tracker), actionStrategy.get(), spots);
+        }
+        table.setRules(rules);
+        table.setCountTracker(tracker);
+        table.setStatistics(stats);
+
+        String name = String.format("rounds-%012d", first);
+        try (HandLogWriter handLog = handLogs == null ? null : new HandLogWriter(handLogs.resolve(name));
+             OutputStream text = handText == null ? null : Files.newOutputStream(
+                     Files.createDirectories(handText).resolve(name + ".txt"))) {
+            if (handLog != null) {
+                table.setHandLog(handLog);
+            }
+            if (text != null) {
+                table.setRenderer(Renderer.buffered(text));
+            }
+            play(table, rounds);
+            table.getRenderer().flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return stats;
+    }
+
+    private static void play(BlackJack table, long rounds) {
+        List<Seat> tableSeats = table.getSeats();
+        for (long i = 0; i < rounds; i++) {
+            for (int j = 0; j < tableSeats.size(); j++) {
+                tableSeats.get(j).getPlayer().setChips(BANKROLL);
+            }
+            table.playRound();
+        }
+    }
+
+    private BetStrategy createBetStrategy(CountTracker tracker) {
+        return tracker == null ? betStrategy.get() : new BetRamp(tracker, unit, ramp);
+    }
+
+    /**
+     * Splits the rounds in halves until they fit in a chunk.
+     */
+    private class SimulationTask extends RecursiveTask<SimulationStats> {
+
+        private static final long serialVersionUID = 1L;
+
+        private long first;
+
+        private long rounds;
+
+        private SplittableRandom random;
+
+        SimulationTask(long first, long rounds, SplittableRandom random) {
+            this.first = first;
+            this.rounds = rounds;
+            this.random = random;
+        }
+
+        protected SimulationStats compute() {
+            if (rounds <= CHUNK) {
+                return play(first, rounds, random.nextLong());
+            }
+
+            long half = rounds / 2;
+            SimulationTask left = new SimulationTask(first, half, random.split());
+            SimulationTask right = new SimulationTask(first + half, rounds - half, random);
+            left.fork();
+            SimulationStats stats = right.compute();
+            return left.join().merge(stats);
+        }
+    }
+
+    /**
+     * Measure the house edge of the flat betting, basic strategy player.
+     *
+     * @param args number of rounds (default 10 million), seed (default 1),
+     *             decks (default single deck), penetration (default 75),
+     *             CSM to use a continuous shuffling machine, the name of a
+     *             CountSystem to bet 1 to 8 units by true count, seats x
+     *             spots e.g. 3x2 to play three seats with two spots each,
+     *             SP and the number of hands a pair can be split into e.g.
+     *             SP2 (default 4), RSA to resplit aces, OCSA to give split
+     *             aces a single card, H17 for a dealer hitting soft 17, the
+     *             BlackJack payout e.g. 3:2 or 6:5 (default 1:1), DA, D9 or D10
+     *             to double down on any two cards, 9 to 11 or 10 and 11, DAS
+     *             to double after a split, LS for late surrender and INS
+     *             to offer insurance, RNG= and a ShuffleEngine.Algorithm e.g.
+     *             RNG=XOSHIRO to shuffle with another generator, LOG= and a
+     *             directory to log every hand and audit the logs after the
+     *             run, SHOW= and a directory to render every hand to text
+     *             files. Run with -Dblackjack.metrics=true to print the table
+     *             metrics as well.
+     */
+    public static void main(String[] args) {
+        MetricsServer metricsServer = Metrics.exportIfEnabled();
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 10000000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int decks = 0;
+        int penetration = 75;
+        boolean continuousShuffle = false;
+        CountSystem countSystem = null;
+        int seats = 1;
+        int spots = 1;
+        Rules rules = new Rules();
+        ShuffleEngine.Algorithm shuffle = ShuffleEngine.Algorithm.SPLIT_MIX;
+        Path handLogs = null;
+        Path handText = null;
+
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equalsIgnoreCase("CSM")) {
+                continuousShuffle = true;
+            } else if (args[i].toUpperCase().startsWith("LOG=")) {
+                // Ahead of the seats and payout, a path may hold an x or a :
+                handLogs = Path.of(args[i].substring(4));
+            } else if (args[i].toUpperCase().startsWith("SHOW=")) {
+                handText = Path.of(args[i].substring(5));
+            } else if (args[i].toUpperCase().startsWith("RNG=")) {
+                // Ahead of the seats too, e.g. xoshiro holds an x
+                shuffle = ShuffleEngine.Algorithm.valueOf(args[i].substring(4).toUpperCase());
+            } else if (args[i].indexOf('x') > 0) {
+                seats = Integer.parseInt(args[i].substring(0, args[i].indexOf('x')));
+                spots = Integer.parseInt(args[i].substring(args[i].indexOf('x') + 1));
+            } else if (args[i].indexOf(':') > 0) {
+                rules.setBlackJackPayout(Integer.parseInt(args[i].substring(0, args[i].indexOf(':'))),
+                        Integer.parseInt(args[i].substring(args[i].indexOf(':') + 1)));
+            } else if (args[i].equalsIgnoreCase("H17")) {
+                rules.setDealerHitsSoft17(true);
+            } else if (args[i].equalsIgnoreCase("DA")) {
+                rules.setDoubleDown(Rules.DoubleDown.ANY);
+            } else if (args[i].equalsIgnoreCase("D9")) {
+                rules.setDoubleDown(Rules.DoubleDown.NINE_TO_ELEVEN);
+            } else if (args[i].equalsIgnoreCase("D10")) {
+                rules.setDoubleDown(Rules.DoubleDown.TEN_ELEVEN);
+            } else if (args[i].equalsIgnoreCase("DAS")) {
+                rules.setDoubleAfterSplit(true);
+            } else if (args[i].equalsIgnoreCase("LS")) {
+                rules.setSurrender(true);
+            } else if (args[i].equalsIgnoreCase("INS")) {
+                rules.setInsurance(true);
+            } else if (args[i].equalsIgnoreCase("RSA")) {
+                rules.setResplitAces(true);
+            } else if (args[i].equalsIgnoreCase("OCSA")) {
+                rules.setHitSplitAces(false);
+            } else if (args[i].toUpperCase().startsWith("SP")) {
+                rules.setMaxHands(Integer.parseInt(args[i].substring(2)));
+            } else if (Character.isLetter(args[i].charAt(0))) {
+                countSystem = CountSystem.valueOf(args[i].toUpperCase());
+            } else if (decks == 0) {
+                decks = Integer.parseInt(args[i]);
+            } else {
+                penetration = Integer.parseInt(args[i]);
+            }
+        }
+
+        Simulator simulator = new Simulator(() -> new FlatBetStrategy(UNIT), () -> new BasicStrategy(rules));
+        if (decks > 0) {
+            simulator.setShoe(decks, penetration, continuousShuffle);
+        }
+        simulator.setSeats(seats, spots);
+        simulator.setRules(rules);
+        simulator.setShuffle(shuffle);
+        simulator.setHandLogs(handLogs);
+        simulator.setHandText(handText);
+        if (countSystem != null) {
+            simulator.setBetRamp(countSystem, UNIT, new int[]{1, 1, 2, 4, 6, 8});
+        }
+
+        long start = System.nanoTime();
+        SimulationStats stats = simulator.run(rounds, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(rules);
+        System.out.println(stats);
+        System.out.println(String.format("%.0f rounds per second, %.0f hands per second",
+                stats.getRounds() / seconds, stats.getHands() / seconds));
+        if (handLogs != null) {
+            System.out.println("Hands settled differently than logged: " + simulator.auditHandLogs());
+        }
+        if (Metrics.ENABLED) {
+            StringBuilder text = new StringBuilder();
+            Metrics.GLOBAL.writeText(text);
+            System.out.print(text);
+        }
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+    }
+}
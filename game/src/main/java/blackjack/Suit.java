@@ -1,3 +1,5 @@
+package blackjack;
+
 /**
  *
  * This enum represents the four different suits namely
@@ -0,0 +1,244 @@
+package blackjack;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TableServer hosts many independent BlackJack tables in one JVM. Each
+ * connection gets a table of its own, played with the same prompts as the
+ * console game: the bet, 1 / 2 / 3 for the hand options and Y / N for
+ * another hand, one answer per line.
+ * <p/>
+ * Every session runs on a virtual thread when the JVM has them (Java 21 and
+ * later) and on a pooled thread otherwise. The number of tables is limited,
+ * a connection over the limit is told the server is full and closed. A
+ * session that doesn't answer within the idle timeout is closed and its
+ * table released.
+ * <p/>
+ * Every table shuffles with a SECURE ShuffleEngine, so a player can't
+ * predict a shoe from the cards of earlier ones, and may log its hands, see
+ * setHandLogs. The server only listens on the loopback address.
+ */
+
+public class TableServer {
+
+    static final int DEFAULT_PORT = 2121;
+
+    static final int DEFAULT_TABLES = 10000;
+
+    static final int DEFAULT_IDLE_SECONDS = 300;
+
+    /**
+     * Records in a segment of a table's hand log, a player plays far fewer
+     * hands than a simulated table
+     */
+    static final int LOG_SEGMENT_RECORDS = 1 << 14;
+
+    private final int port;
+
+    private final int idleMillis;
+
+    /**
+     * A permit for every table that may be open at once
+     */
+    private final Semaphore tables;
+
+    private final ExecutorService executor = newExecutor();
+
+    private ServerSocket serverSocket;
+
+    /**
+     * Directory of the hand logs, null to log no hands
+     */
+    private Path handLogs;
+
+    /**
+     * Number of the next table, names its hand log
+     */
+    private long nextTable;
+
+    /**
+     * @param port        port to listen on, 0 for any free port
+     * @param maxTables   number of tables that may be open at once
+     * @param idleSeconds seconds to wait for the player's input before closing
+     *                    the session
+     */
+    public TableServer(int port, int maxTables, int idleSeconds) {
+        if (maxTables < 1 || idleSeconds < 1) {
+            throw new IllegalArgumentException("Invalid tables " + maxTables + " or idle timeout " + idleSeconds);
+        }
+        this.port = port;
+        this.tables = new Semaphore(maxTables);
+        this.idleMillis = (int) TimeUnit.SECONDS.toMillis(idleSeconds);
+    }
+
+    /**
+     * Executor with a new virtual thread for every task if the JVM has them.
+     * Looked up reflectively so the game still builds and runs on Java 17.
+     */
+    static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Log the hands of every table from now on, each table to a directory of
+     * its own e.g. table-0, which HandLogReader can replay. The numbers start
+     * at 0 again when the server is started again, so give every run a
+     * directory of its own.
+     *
+     * @param directory directory of the logs of the tables
+     */
+    public void setHandLogs(Path directory) {
+        this.handLogs = directory;
+    }
+
+    /**
+     * @return writer of the hand log of a table, null if no hands are logged
+     */
+    static HandLogWriter openHandLog(Path handLogs, long table) {
+        return handLogs == null ? null : new HandLogWriter(handLogs.resolve("table-" + table), LOG_SEGMENT_RECORDS);
+    }
+
+    /**
+     * Bind the server socket.
+     *
+     * @return the port the server listens on
+     */
+    public int bind() {
+        try {
+            serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accept connections until the server is closed.
+     */
+    public void serve() {
+        if (serverSocket == null) {
+            bind();
+        }
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    break;
+                }
+                throw new UncheckedIOException(e);
+            }
+
+            if (!tables.tryAcquire()) {
+                reject(socket);
+                continue;
+            }
+            long table = nextTable++;
+            executor.execute(() -> {
+                try {
+                    play(socket, table);
+                } finally {
+                    tables.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Play a table over the connection until the player leaves, runs out of
+     * chips, disconnects or stays idle for too long.
+     */
+    private void play(Socket socket, long table) {
+        HandLogWriter handLog = openHandLog(handLogs, table);
+        try (socket) {
+            socket.setSoTimeout(idleMillis);
+            socket.setTcpNoDelay(true);
+            PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            ConsolePlayer console = new ConsolePlayer(socket.getInputStream(), out);
+            try {
+                // No recent hands are kept, so the table reuses its hands every round
+                BlackJack game = new BlackJack(console, ShuffleEngine.create(ShuffleEngine.Algorithm.SECURE, 0), 0);
+                game.setHandLog(handLog);
+                game.startGame();
+            } catch (NoSuchElementException e) {
+                // The input ended or timed out
+                out.println("\nSession closed.");
+            }
+        } catch (IOException e) {
+            // The connection is gone, nothing left to clean up
+        } finally {
+            if (handLog != null) {
+                handLog.close();
+            }
+        }
+    }
+
+    private static void reject(Socket socket) {
+        try (socket) {
+            PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            out.println("All tables are taken. Please try again later.");
+        } catch (IOException e) {
+            // The connection is gone
+        }
+    }
+
+    /**
+     * @return number of tables that can still be opened
+     */
+    public int getAvailableTables() {
+        return tables.availablePermits();
+    }
+
+    /**
+     * Stop accepting connections. Sessions in play continue until they end.
+     */
+    public void close() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Start the server.
+     *
+     * @param args optional port, number of tables, idle timeout in seconds and
+     *             directory of the hand logs
+     */
+    public static void main(String[] args) {
+        Metrics.exportIfEnabled();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxTables = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TABLES;
+        int idleSeconds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_IDLE_SECONDS;
+
+        TableServer server = new TableServer(port, maxTables, idleSeconds);
+        if (args.length > 3) {
+            server.setHandLogs(Path.of(args[3]));
+        }
+        System.out.println("BlackJack table server listening on port " + server.bind()
+                + " for up to " + maxTables + " tables");
+        server.serve();
+    }
+}
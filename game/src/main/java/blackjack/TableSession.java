@@ -0,0 +1,184 @@
+package blackjack;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * TableSession plays a BlackJack table with the input of a connection as it
+ * arrives, instead of a thread waiting on a Scanner. It asks the same
+ * questions and gives the same answers to invalid input as ConsolePlayer,
+ * but keeps track of the question it is waiting on and plays the round one
+ * step at a time, see BlackJack.beginRound.
+ */
+
+public class TableSession {
+
+    private static final int BET = 0;
+
+    private static final int OPTION = 1;
+
+    private static final int ANOTHER_HAND = 2;
+
+    private static final int CLOSED = 3;
+
+    private final BlackJack game;
+
+    private final PrintStream out;
+
+    private final TokenParser token = new TokenParser();
+
+    /**
+     * Question the session is waiting on
+     */
+    private int state;
+
+    /**
+     * Number of invalid answers to the current question, the console
+     * prompts change after the first one
+     */
+    private int retries;
+
+    /**
+     * True if the last invalid hand option was a split
+     */
+    private boolean splitRefused;
+
+    /**
+     * Open a table, print the welcome message and ask for the first bet.
+     *
+     * @param out    stream the table prints to
+     * @param random used to shuffle the deck
+     */
+    public TableSession(PrintStream out, Random random) {
+        this(out, random, null);
+    }
+
+    /**
+     * @param out     stream the table prints to
+     * @param random  used to shuffle the deck
+     * @param handLog writer of the table's hand log, closed by the caller, null for none
+     */
+    public TableSession(PrintStream out, Random random, HandLogWriter handLog) {
+        this(out, new ShuffleEngine(random), handLog);
+    }
+
+    /**
+     * @param out     stream the table prints to
+     * @param engine  shuffles the deck, e.g. a SECURE engine
+     * @param handLog writer of the table's hand log, closed by the caller, null for none
+     */
+    public TableSession(PrintStream out, ShuffleEngine engine, HandLogWriter handLog) {
+        this.out = out;
+        // No recent hands are kept, so the table reuses its hands every round
+        game = new BlackJack(out, engine, 0);
+        game.setHandLog(handLog);
+        game.openTable();
+        askBet();
+    }
+
+    /**
+     * Play the input received from the player.
+     *
+     * @param in bytes received
+     * @return false once the player has left the table
+     */
+    public boolean read(ByteBuffer in) {
+        while (state != CLOSED && token.next(in)) {
+            if (state == BET) {
+                bet();
+            } else if (state == OPTION) {
+                option();
+            } else {
+                anotherHand();
+            }
+        }
+        return state != CLOSED;
+    }
+
+    public boolean isClosed() {
+        return state == CLOSED;
+    }
+
+    private void askBet() {
+        ConsolePlayer.printBetPrompt(out, game.getPlayer().getChips());
+        state = BET;
+        retries = 0;
+    }
+
+    private void bet() {
+        int chips = game.getPlayer().getChips();
+        if (!token.isInt() && retries == 0) {
+            out.print(ConsolePlayer.INVALID_BET);
+            return;
+        }
+        if (!token.isInt() || token.intValue() <= 0 || token.intValue() > chips) {
+            ConsolePlayer.printInvalidBetAmount(out, chips);
+            retries++;
+            return;
+        }
+        game.beginRound(token.intValue());
+        playOn();
+    }
+
+    private void option() {
+        if (!token.isInt()) {
+            if (retries == 0) {
+                out.print(ConsolePlayer.INVALID_OPTION);
+            }
+            return;
+        }
+
+        int input = token.intValue();
+        if (splitRefused) {
+            out.println(" ");
+        } else if (input != HandOptions.HIT.getValue() && input != HandOptions.STAND.getValue()
+                && input != HandOptions.SPLIT.getValue()) {
+            out.print(ConsolePlayer.INVALID_OPTION);
+            retries++;
+            return;
+        }
+
+        // Keep asking until the input is Hit, Stand or a legal Split
+        PlayerHand hand = game.getActiveHand();
+        if (input == HandOptions.HIT.getValue() || input == HandOptions.STAND.getValue()
+                || (input == HandOptions.SPLIT.getValue() && game.canSplit(hand))) {
+            game.applyOption(HandOptions.fromValue(input));
+            playOn();
+            return;
+        }
+        if (input == HandOptions.SPLIT.getValue() && game.getPlayer().getChips() < hand.getBet()) {
+            out.println(ConsolePlayer.NO_CHIPS_TO_SPLIT);
+        }
+        out.print(ConsolePlayer.CANT_SPLIT);
+        splitRefused = true;
+        retries++;
+    }
+
+    private void anotherHand() {
+        if (token.length() == 1 && Character.toUpperCase(token.firstChar()) == 'Y'
+                && game.getPlayer().getChips() > 0) {
+            askBet();
+        } else {
+            game.exitGame();
+            state = CLOSED;
+        }
+    }
+
+    /**
+     * Ask for the option of the active hand, or finish the round once the
+     * player's hands are done.
+     */
+    private void playOn() {
+        retries = 0;
+        splitRefused = false;
+        if (game.getActiveHand() != null) {
+            ConsolePlayer.printOptions(out);
+            state = OPTION;
+            return;
+        }
+        game.finishRound();
+        out.print(ConsolePlayer.ANOTHER_HAND);
+        state = ANOTHER_HAND;
+    }
+}
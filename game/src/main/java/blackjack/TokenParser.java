@@ -0,0 +1,108 @@
+package blackjack;
+
+import java.nio.ByteBuffer;
+
+/**
+ * TokenParser splits the bytes read from a connection into tokens separated
+ * by white space, the same tokens a Scanner reads, without creating any
+ * objects. A token may arrive over several reads, the parser keeps its place
+ * in between.
+ * <p/>
+ * The game only needs to know if a token is an int and its value, or its
+ * first character for the Y / N answers, so that is all that is kept.
+ */
+
+public class TokenParser {
+
+    private int length;
+
+    private int first;
+
+    private long value;
+
+    private boolean negative;
+
+    /**
+     * True while every character of the token may be part of an int
+     */
+    private boolean number;
+
+    /**
+     * True once the last token read has ended
+     */
+    private boolean complete;
+
+    /**
+     * Read up to the end of the next token.
+     *
+     * @param in bytes read from the connection
+     * @return true if a token ended, false if the bytes ran out first
+     */
+    public boolean next(ByteBuffer in) {
+        if (complete) {
+            complete = false;
+            length = 0;
+        }
+        while (in.hasRemaining()) {
+            int b = in.get();
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f') {
+                if (length > 0) {
+                    complete = true;
+                    return true;
+                }
+                continue;
+            }
+
+            if (length == 0) {
+                first = b;
+                value = 0;
+                negative = b == '-';
+                number = b == '-' || b == '+' || (b >= '0' && b <= '9');
+                if (b >= '0' && b <= '9') {
+                    value = b - '0';
+                }
+            } else if (number && b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                // Too large for an int
+                if (value > Integer.MAX_VALUE + 1L) {
+                    number = false;
+                }
+            } else {
+                number = false;
+            }
+            length++;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the token is an int
+     */
+    public boolean isInt() {
+        if (!number || (length == 1 && (first == '-' || first == '+'))) {
+            return false;
+        }
+        return negative ? value <= Integer.MAX_VALUE + 1L : value <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return value of the token if it is an int
+     */
+    public int intValue() {
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * @return first character of the token
+     */
+    public char firstChar() {
+        return (char) first;
+    }
+
+    /**
+     * @return number of characters in the token
+     */
+    public int length() {
+        return length;
+    }
+}
@@ -0,0 +1,109 @@
+package blackjack;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorHandEvaluator settles a HandBatch a vector of hands at a time with
+ * the incubating Vector API. Every check of BlackJack.evaluateHand becomes a
+ * mask over the vector, and the outcomes and chip deltas are blended in from
+ * the last check to the first, so an earlier check overrides a later one
+ * just like the branches would. Only a BlackJack paying other than 1 to 1
+ * is paid on its own, lanes having no fast integer division.
+ * <p/>
+ * Needs --add-modules jdk.incubator.vector at compile and run time, and is
+ * only created by BatchHandEvaluator.create. The hands left over after the
+ * last full vector are settled by the scalar loop.
+ */
+
+class VectorHandEvaluator extends BatchHandEvaluator {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    VectorHandEvaluator(Rules rules) {
+        super(rules);
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    public void evaluate(HandBatch batch) {
+        int size = batch.size;
+        int bound = SPECIES.loopBound(size);
+        IntVector push = IntVector.broadcast(SPECIES, RuleTables.PUSH);
+        IntVector win = IntVector.broadcast(SPECIES, RuleTables.WIN);
+        IntVector blackJack = IntVector.broadcast(SPECIES, RuleTables.BLACKJACK);
+        IntVector loss = IntVector.broadcast(SPECIES, RuleTables.LOSS);
+        IntVector surrender = IntVector.broadcast(SPECIES, RuleTables.SURRENDER);
+        IntVector zero = IntVector.zero(SPECIES);
+
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            IntVector total = IntVector.fromArray(SPECIES, batch.totals, i);
+            IntVector flags = IntVector.fromArray(SPECIES, batch.flags, i);
+            IntVector dealerTotal = IntVector.fromArray(SPECIES, batch.dealerTotals, i);
+            IntVector dealerFlags = IntVector.fromArray(SPECIES, batch.dealerFlags, i);
+            IntVector bet = IntVector.fromArray(SPECIES, batch.bets, i);
+
+            VectorMask<Integer> isBlackJack = flags.and(HandBatch.BLACKJACK).compare(VectorOperators.NE, 0);
+            VectorMask<Integer> isSplit = flags.and(HandBatch.SPLIT).compare(VectorOperators.NE, 0);
+            VectorMask<Integer> isSurrendered = flags.and(HandBatch.SURRENDERED).compare(VectorOperators.NE, 0);
+            VectorMask<Integer> dealerBlackJack = dealerFlags.and(HandBatch.BLACKJACK).compare(VectorOperators.NE, 0);
+
+            // Chip delta of every outcome but a push
+            IntVector lost = bet.neg();
+            IntVector surrendered = bet.lanewise(VectorOperators.ASHR, 1).sub(bet);
+            IntVector blackJackDelta = bet.mul(blackJackWin);
+
+            // Last check first, see BlackJack.evaluateHand
+            VectorMask<Integer> mask = dealerTotal.compare(VectorOperators.GT, total);
+            IntVector outcome = push.blend(loss, mask);
+            IntVector delta = zero.blend(lost, mask);
+
+            mask = total.compare(VectorOperators.GT, dealerTotal).or(dealerTotal.compare(VectorOperators.GT, 21));
+            outcome = outcome.blend(win, mask);
+            delta = delta.blend(bet, mask);
+
+            mask = total.compare(VectorOperators.GT, 21);
+            outcome = outcome.blend(loss, mask);
+            delta = delta.blend(lost, mask);
+
+            // A BlackJack of a split hand is paid like any other win
+            mask = isBlackJack.and(isSplit);
+            outcome = outcome.blend(win, mask);
+            delta = delta.blend(bet, mask);
+
+            VectorMask<Integer> paidBlackJack = isBlackJack.andNot(isSplit).andNot(dealerBlackJack).andNot(isSurrendered);
+            outcome = outcome.blend(blackJack, paidBlackJack);
+            delta = delta.blend(blackJackDelta, paidBlackJack);
+
+            mask = isBlackJack.and(dealerBlackJack);
+            outcome = outcome.blend(push, mask);
+            delta = delta.blend(zero, mask);
+
+            outcome = outcome.blend(surrender, isSurrendered);
+            delta = delta.blend(surrendered, isSurrendered);
+
+            // A late surrender only counts once the dealer has no BlackJack
+            mask = isSurrendered.and(dealerBlackJack);
+            outcome = outcome.blend(loss, mask);
+            delta = delta.blend(lost, mask);
+
+            outcome.intoArray(batch.outcomes, i);
+            delta.intoArray(batch.chipDeltas, i);
+
+            // A BlackJack paying e.g. 3 to 2 is paid one by one, few hands are a BlackJack
+            if (blackJackBet != 1) {
+                for (long lanes = paidBlackJack.toLong(); lanes != 0; lanes &= lanes - 1) {
+                    int hand = i + Long.numberOfTrailingZeros(lanes);
+                    batch.chipDeltas[hand] = ruleTables.payout(RuleTables.BLACKJACK, batch.bets[hand]) - batch.bets[hand];
+                }
+            }
+        }
+        evaluate(batch, bound, size);
+    }
+}
@@ -0,0 +1,37 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlackJackTest {
+
+    @Test
+    void refusedBetLeavesTheTable() {
+        Rules rules = new Rules();
+        BlackJack table = new BlackJack(100, new FlatBetStrategy(Simulator.UNIT), new BasicStrategy(rules),
+                new Shoe(2, 75, new SeededRandom(1)));
+        table.addSeat(5, new FlatBetStrategy(Simulator.UNIT), new BasicStrategy(rules), 1);
+        table.setRules(rules);
+        SimulationStats stats = new SimulationStats();
+        table.setStatistics(stats);
+        byte[] before = table.snapshot();
+
+        Player first = table.getSeats().get(0).getPlayer();
+        Player second = table.getSeats().get(1).getPlayer();
+        assertThrows(IllegalStateException.class, () -> table.beginRound(10, 10));
+        assertThrows(IllegalStateException.class, () -> table.beginRound(10, 0));
+        assertEquals(100, first.getLedger().getAvailable());
+        assertEquals(0, first.getLedger().getReserved());
+        assertEquals(5, second.getLedger().getAvailable());
+        assertEquals(0, stats.rounds);
+        assertArrayEquals(before, table.snapshot());
+
+        table.beginRound(10, 5);
+        assertEquals(10, first.getLedger().getReserved());
+        assertEquals(5, second.getLedger().getReserved());
+        assertEquals(1, stats.rounds);
+    }
+}
@@ -0,0 +1,146 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChipLedgerTest {
+
+    private static final int CHIPS = 1000;
+
+    @Test
+    void concurrentTablesKeepTheBalance() throws Exception {
+        ChipLedger ledger = new ChipLedger(CHIPS);
+        int tables = 8;
+        AtomicLong net = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < tables; t++) {
+            int table = t;
+            Thread thread = new Thread(() -> {
+                SeededRandom random = new SeededRandom(table);
+                long won = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int round = 0; round < 100000; round++) {
+                    int stake = 1 + random.nextInt(20);
+                    if (!ledger.reserve(stake)) {
+                        continue;
+                    }
+                    int payout = random.nextInt(3) * stake;
+                    ledger.settle(stake, payout);
+                    won += payout - stake;
+                }
+                net.addAndGet(won);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, ledger.getReserved());
+        assertEquals(CHIPS + net.get(), ledger.getBalance());
+        assertEquals(ledger.getBalance(), ledger.getAvailable());
+    }
+
+    /**
+     * Two tables on threads of their own, each with a seat of its own and a
+     * seat of three spots backed by the same small ledger, so bets, splits
+     * and doubles are often short of chips by the time they are reserved
+     */
+    @Test
+    void tablesSharingALedgerSettleEveryRound() throws Exception {
+        ChipLedger ledger = new ChipLedger(CHIPS);
+        Rules rules = new Rules();
+        rules.setDoubleDown(Rules.DoubleDown.ANY);
+        rules.setDoubleAfterSplit(true);
+        rules.setInsurance(true);
+        rules.setSurrender(true);
+        int tables = 2;
+        AtomicLong net = new AtomicLong();
+        AtomicLong credited = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < tables; t++) {
+            BlackJack table = new BlackJack(Simulator.BANKROLL, new FlatBetStrategy(Simulator.UNIT),
+                    new BasicStrategy(rules), new Shoe(6, 75, new SeededRandom(t)));
+            table.addSeat(ledger, new FlatBetStrategy(150), new BasicStrategy(rules), 3);
+            table.setRules(rules);
+            Thread thread = new Thread(() -> {
+                long won = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int round = 0; round < 50000; round++) {
+                    won += table.playRound();
+                    if (ledger.getAvailable() < 150) {
+                        ledger.credit(CHIPS);
+                        credited.addAndGet(CHIPS);
+                    }
+                }
+                // Take out the chips of the seat the table doesn't share
+                net.addAndGet(won - (table.getPlayer().getLedger().getBalance() - Simulator.BANKROLL));
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, ledger.getReserved());
+        assertEquals(CHIPS + credited.get() + net.get(), ledger.getBalance());
+    }
+
+    @Test
+    void reserveMoreThanAvailableIsRefused() {
+        ChipLedger ledger = new ChipLedger(10);
+        assertTrue(ledger.reserve(6));
+        assertFalse(ledger.reserve(5));
+        assertEquals(4, ledger.getAvailable());
+        assertEquals(6, ledger.getReserved());
+
+        assertThrows(IllegalStateException.class, () -> ledger.settle(7, 0));
+        assertThrows(IllegalArgumentException.class, () -> ledger.reserve(0));
+        ledger.settle(6, 12);
+        assertEquals(16, ledger.getAvailable());
+        assertEquals(0, ledger.getReserved());
+        assertFalse(ledger.debit(17));
+        assertEquals(16, ledger.getBalance());
+    }
+
+    @Test
+    void overflowLeavesTheLedgerAsItWas() {
+        ChipLedger ledger = new ChipLedger(Integer.MAX_VALUE - 10);
+        assertThrows(ArithmeticException.class, () -> ledger.credit(11));
+        assertEquals(Integer.MAX_VALUE - 10, ledger.getAvailable());
+
+        assertTrue(ledger.reserve(10));
+        assertThrows(ArithmeticException.class, () -> ledger.settle(10, 21));
+        assertEquals(Integer.MAX_VALUE - 20, ledger.getAvailable());
+        assertEquals(10, ledger.getReserved());
+
+        ledger.credit(20);
+        assertEquals(Integer.MAX_VALUE, ledger.getAvailable());
+        assertEquals((long) Integer.MAX_VALUE + 10, ledger.getBalance());
+    }
+}
@@ -0,0 +1,58 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountTrackerTest {
+
+    private static int count(CountSystem system, int decks, List<Card> out) {
+        int count = system.getInitialCount(decks);
+        for (Card card : out) {
+            count += system.getTag(card.getCardType());
+        }
+        return count;
+    }
+
+    /**
+     * Rounds of 7 cards from a single deck which is never shuffled, so the
+     * shoe runs out in the middle of a round and recycles the earlier ones
+     */
+    @Test
+    void recycleKeepsTheCardsInPlay() {
+        for (CountSystem system : CountSystem.values()) {
+            Shoe shoe = new Shoe(new SeededRandom(1));
+            shoe.shuffle();
+            CountTracker tracker = new CountTracker(system, shoe);
+            List<Card> out = new ArrayList<>();
+            List<Card> round = new ArrayList<>();
+            int recycles = 0;
+            for (int i = 0; i < 20; i++) {
+                for (int j = 0; j < 7; j++) {
+                    long shuffles = shoe.getShuffles();
+                    Card card = shoe.deal();
+                    if (shuffles != shoe.getShuffles()) {
+                        // Only the cards of this round are still out
+                        out.clear();
+                        out.addAll(round);
+                        recycles++;
+                    }
+                    tracker.count(card);
+                    round.add(card);
+                    out.add(card);
+                    assertEquals(count(system, 1, out), tracker.getRunningCount(), system + " round " + i);
+                }
+                shoe.endRound();
+                round.clear();
+            }
+            assertTrue(recycles > 1);
+
+            shoe.shuffle();
+            assertEquals(system.getInitialCount(1), tracker.getRunningCount());
+        }
+    }
+}
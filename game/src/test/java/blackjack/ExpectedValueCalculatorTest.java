@@ -0,0 +1,134 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpectedValueCalculatorTest {
+
+    private static final double DELTA = 1e-9;
+
+    /**
+     * @return composition of a shoe of the given number of decks
+     */
+    private static int[] shoe(int decks) {
+        int[] composition = new int[DealerProbabilities.RANKS];
+        for (int rank = 0; rank < DealerProbabilities.TEN; rank++) {
+            composition[rank] = 4 * decks;
+        }
+        composition[DealerProbabilities.TEN] = 16 * decks;
+        return composition;
+    }
+
+    private static PlayerHand hand(CardType first, CardType second) {
+        PlayerHand hand = new PlayerHand(10, false);
+        hand.addCard(Card.of(Suit.HEARTS, first));
+        hand.addCard(Card.of(Suit.SPADES, second));
+        return hand;
+    }
+
+    private static void remove(int[] composition, CardType... cards) {
+        for (CardType card : cards) {
+            composition[DealerProbabilities.rank(card)]--;
+        }
+    }
+
+    @Test
+    void dealerBustsAgainstSix() {
+        int[] composition = shoe(8);
+        remove(composition, CardType.SIX);
+        double[] distribution = DealerProbabilities.compute(DealerProbabilities.rank(CardType.SIX), composition);
+
+        // 0.4232 for an infinite deck
+        assertEquals(0.423, distribution[DealerProbabilities.BUST], 0.001);
+        double total = 0;
+        for (double probability : distribution) {
+            total += probability;
+        }
+        assertEquals(1, total, DELTA);
+    }
+
+    @Test
+    void standingSixteenAgainstTen() {
+        int[] composition = shoe(8);
+        remove(composition, CardType.TEN, CardType.SIX, CardType.TEN);
+        ExpectedValueCalculator calculator = new ExpectedValueCalculator(new DealerProbabilities(1000), true);
+        double[] values = calculator.evaluate(hand(CardType.TEN, CardType.SIX), Card.of(Suit.CLUBS, CardType.TEN),
+                composition, false);
+
+        // A dealer BlackJack is not checked first, so standing loses
+        // 1 - 2 * 0.2121 for an infinite deck
+        assertEquals(-0.576, values[HandOptions.STAND.ordinal()], 0.001);
+        assertTrue(values[HandOptions.HIT.ordinal()] > values[HandOptions.STAND.ordinal()]);
+        assertTrue(Double.isNaN(values[HandOptions.SPLIT.ordinal()]));
+    }
+
+    @Test
+    void cachedDistributionIsComputedOnce() {
+        DealerProbabilities dealer = new DealerProbabilities(2);
+        int[] composition = shoe(1);
+        double[] first = dealer.distribution(CardType.TEN, composition);
+        double[] second = dealer.distribution(CardType.TEN, composition);
+
+        assertTrue(first == second);
+        assertEquals(1, dealer.getHits());
+        assertEquals(1, dealer.getMisses());
+    }
+
+    @Test
+    void splitAcesGetOneCardUnlessTheyCanBeHit() {
+        int[] composition = shoe(8);
+        remove(composition, CardType.ACE, CardType.ACE, CardType.SIX);
+        Card upCard = Card.of(Suit.CLUBS, CardType.SIX);
+        DealerProbabilities dealer = new DealerProbabilities(1000);
+
+        Rules rules = new Rules();
+        rules.setHitSplitAces(false);
+        double oneCard = new ExpectedValueCalculator(dealer, false, rules)
+                .evaluate(hand(CardType.ACE, CardType.ACE), upCard, composition, true)[HandOptions.SPLIT.ordinal()];
+        double hit = new ExpectedValueCalculator(dealer, false)
+                .evaluate(hand(CardType.ACE, CardType.ACE), upCard, composition, true)[HandOptions.SPLIT.ordinal()];
+
+        // Each ace stands on the card it is dealt, a ten making a BlackJack paid like a win
+        double[] outcomes = dealer.distribution(CardType.SIX, composition);
+        int left = 0;
+        for (int count : composition) {
+            left += count;
+        }
+        double expected = 0;
+        for (int rank = 0; rank < DealerProbabilities.RANKS; rank++) {
+            int value = Hand.valueOf(1 + rank + 1, rank == 0 ? 2 : 1);
+            expected += (double) composition[rank] / left
+                    * ExpectedValueCalculator.stand(outcomes, value, rank == DealerProbabilities.TEN);
+        }
+        assertEquals(2 * expected, oneCard, DELTA);
+        assertTrue(hit > oneCard);
+    }
+
+    @Test
+    void splitHandsDoubleOnlyAfterSplitIsAllowed() {
+        int[] composition = shoe(8);
+        remove(composition, CardType.EIGHT, CardType.EIGHT, CardType.SIX);
+        Card upCard = Card.of(Suit.CLUBS, CardType.SIX);
+        DealerProbabilities dealer = new DealerProbabilities(1000);
+
+        Rules rules = new Rules();
+        double noDouble = new ExpectedValueCalculator(dealer, false, rules)
+                .evaluate(hand(CardType.EIGHT, CardType.EIGHT), upCard, composition, true)[HandOptions.SPLIT.ordinal()];
+        rules.setDoubleDown(Rules.DoubleDown.ANY);
+        double noDoubleAfterSplit = new ExpectedValueCalculator(dealer, false, rules)
+                .evaluate(hand(CardType.EIGHT, CardType.EIGHT), upCard, composition, true)[HandOptions.SPLIT.ordinal()];
+        rules.setDoubleAfterSplit(true);
+        double doubleAfterSplit = new ExpectedValueCalculator(dealer, false, rules)
+                .evaluate(hand(CardType.EIGHT, CardType.EIGHT), upCard, composition, true)[HandOptions.SPLIT.ordinal()];
+        rules.setDoubleDown(Rules.DoubleDown.NONE);
+        double nothingToDouble = new ExpectedValueCalculator(dealer, false, rules)
+                .evaluate(hand(CardType.EIGHT, CardType.EIGHT), upCard, composition, true)[HandOptions.SPLIT.ordinal()];
+
+        assertEquals(noDouble, noDoubleAfterSplit, DELTA);
+        assertEquals(noDouble, nothingToDouble, DELTA);
+        // Doubling an 8 and a 2 or 3 against a 6 gains on the split
+        assertTrue(doubleAfterSplit > noDouble + 0.05);
+    }
+}
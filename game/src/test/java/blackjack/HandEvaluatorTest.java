@@ -0,0 +1,126 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandEvaluatorTest {
+
+    /**
+     * Odd, so never a multiple of the vector length and the last hands are
+     * settled by the scalar loop
+     */
+    private static final int HANDS = 1001;
+
+    /**
+     * Random hands, a surrender, a split hand BlackJack and a dealer
+     * BlackJack among the first ones
+     */
+    private static HandBatch batch(long seed) {
+        HandBatch batch = new HandBatch(HANDS);
+        batch.add(16, HandBatch.SURRENDERED, 21, HandBatch.BLACKJACK, 11);
+        batch.add(15, HandBatch.SURRENDERED, 19, 0, 11);
+        batch.add(21, HandBatch.BLACKJACK | HandBatch.SPLIT, 20, 0, 10);
+        batch.add(21, HandBatch.BLACKJACK, 21, HandBatch.BLACKJACK, 10);
+        batch.add(21, HandBatch.BLACKJACK, 20, 0, 5);
+        batch.add(20, 0, 21, HandBatch.BLACKJACK, 10);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        while (batch.size() < HANDS) {
+            boolean dealerBlackJack = random.nextInt(8) == 0;
+            int dealerTotal = dealerBlackJack ? 21 : 17 + random.nextInt(10);
+            int flag = random.nextInt(4) == 0 ? HandBatch.SPLIT : 0;
+            int total;
+            int kind = random.nextInt(10);
+            if (kind == 0) {
+                flag = HandBatch.SURRENDERED;
+                total = 12 + random.nextInt(9);
+            } else if (kind == 1) {
+                flag |= HandBatch.BLACKJACK;
+                total = 21;
+            } else {
+                total = 4 + random.nextInt(27);
+            }
+            batch.add(total, flag, dealerTotal, dealerBlackJack ? HandBatch.BLACKJACK : 0, 1 + random.nextInt(101));
+        }
+        return batch;
+    }
+
+    /**
+     * Outcome of a hand by the checks of BlackJack.evaluateHand
+     */
+    private static int outcome(HandBatch batch, int i) {
+        int flags = batch.flags[i];
+        boolean dealerBlackJack = batch.dealerFlags[i] != 0;
+        if ((flags & HandBatch.SURRENDERED) != 0) {
+            return dealerBlackJack ? RuleTables.LOSS : RuleTables.SURRENDER;
+        }
+        if ((flags & HandBatch.BLACKJACK) != 0) {
+            if (dealerBlackJack) {
+                return RuleTables.PUSH;
+            }
+            return (flags & HandBatch.SPLIT) != 0 ? RuleTables.WIN : RuleTables.BLACKJACK;
+        }
+        int total = batch.totals[i];
+        int dealerTotal = batch.dealerTotals[i];
+        if (total > 21) {
+            return RuleTables.LOSS;
+        }
+        if (dealerTotal > 21 || total > dealerTotal) {
+            return RuleTables.WIN;
+        }
+        return total == dealerTotal ? RuleTables.PUSH : RuleTables.LOSS;
+    }
+
+    private static void assertPayouts(BatchHandEvaluator evaluator, Rules rules) {
+        RuleTables ruleTables = new RuleTables(rules);
+        HandBatch batch = batch(rules.getBlackJackBet());
+        evaluator.evaluate(batch);
+        for (int i = 0; i < HANDS; i++) {
+            int outcome = outcome(batch, i);
+            assertEquals(outcome, batch.getOutcome(i), "outcome of hand " + i);
+            assertEquals(ruleTables.payout(outcome, batch.bets[i]) - batch.bets[i], batch.getChipDelta(i),
+                    "chips of hand " + i);
+        }
+    }
+
+    private static Rules rules(int win, int bet) {
+        Rules rules = new Rules();
+        rules.setBlackJackPayout(win, bet);
+        return rules;
+    }
+
+    @Test
+    void scalarAndVectorPayTheRuleTables() {
+        int[][] payouts = {{1, 1}, {3, 2}, {6, 5}};
+        for (int[] payout : payouts) {
+            Rules rules = rules(payout[0], payout[1]);
+            BatchHandEvaluator scalar = new BatchHandEvaluator(rules);
+            assertFalse(scalar.isVectorized());
+            assertPayouts(scalar, rules);
+
+            // The tests run with the incubator module
+            BatchHandEvaluator vector = BatchHandEvaluator.create(rules);
+            assertTrue(vector.isVectorized());
+            assertPayouts(vector, rules);
+        }
+    }
+
+    @Test
+    void batchIsSettledAgainAfterClear() {
+        Rules rules = rules(3, 2);
+        BatchHandEvaluator evaluator = BatchHandEvaluator.create(rules);
+        HandBatch batch = batch(1);
+        evaluator.evaluate(batch);
+        batch.clear();
+        batch.add(21, HandBatch.BLACKJACK, 20, 0, 10);
+        evaluator.evaluate(batch);
+        assertEquals(1, batch.size());
+        assertEquals(RuleTables.BLACKJACK, batch.getOutcome(0));
+        assertEquals(15, batch.getChipDelta(0));
+    }
+}
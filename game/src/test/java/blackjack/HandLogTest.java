@@ -0,0 +1,116 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandLogTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Rules with splits, doubles and surrenders to log, but no insurance
+     * since the log leaves it out
+     */
+    private static Rules rules() {
+        Rules rules = new Rules();
+        rules.setBlackJackPayout(3, 2);
+        rules.setDoubleDown(Rules.DoubleDown.ANY);
+        rules.setDoubleAfterSplit(true);
+        rules.setSurrender(true);
+        return rules;
+    }
+
+    private static void assertSameStats(SimulationStats expected, SimulationStats actual) {
+        assertEquals(expected.rounds, actual.rounds);
+        assertEquals(expected.hands, actual.hands);
+        assertEquals(expected.wins, actual.wins);
+        assertEquals(expected.losses, actual.losses);
+        assertEquals(expected.ties, actual.ties);
+        assertEquals(expected.blackJacks, actual.blackJacks);
+        assertEquals(expected.splits, actual.splits);
+        assertEquals(expected.doubles, actual.doubles);
+        assertEquals(expected.surrenders, actual.surrenders);
+        assertEquals(expected.wagered, actual.wagered);
+        assertEquals(expected.net, actual.net);
+    }
+
+    @Test
+    void replayRollsOverSegments() {
+        Rules rules = rules();
+        SimulationStats played = new SimulationStats();
+        BlackJack table = new BlackJack(Simulator.BANKROLL, new FlatBetStrategy(Simulator.UNIT),
+                new BasicStrategy(rules), new Shoe(6, 75, new ShuffleEngine(new SeededRandom(7))));
+        table.getSeats().get(0).setSpots(2);
+        table.setRules(rules);
+        table.setStatistics(played);
+
+        try (HandLogWriter writer = new HandLogWriter(directory, 7)) {
+            table.setHandLog(writer);
+            for (int i = 0; i < 5000; i++) {
+                table.getPlayer().setChips(Simulator.BANKROLL);
+                table.playRound();
+            }
+        }
+
+        SimulationStats replayed = new SimulationStats();
+        long records = new HandLogReader(directory).replay(replayed);
+        assertEquals(played.hands, records);
+        assertTrue(played.splits > 0 && played.doubles > 0 && played.surrenders > 0);
+        assertSameStats(played, replayed);
+        assertEquals(0, new HandLogReader(directory).audit(rules));
+        assertTrue(Files.exists(HandLogWriter.segmentPath(directory, (int) (records - 1) / 7)));
+        assertTrue(Files.notExists(HandLogWriter.segmentPath(directory, (int) (records - 1) / 7 + 1)));
+    }
+
+    @Test
+    void simulatorLogsEveryTable() throws Exception {
+        Rules rules = rules();
+        Simulator simulator = new Simulator(() -> new FlatBetStrategy(Simulator.UNIT), () -> new BasicStrategy(rules));
+        simulator.setRules(rules);
+        simulator.setShoe(6, 75, false);
+        simulator.setHandLogs(directory);
+        SimulationStats played = simulator.run(20000, 3);
+
+        SimulationStats replayed = new SimulationStats();
+        try (var tables = Files.list(directory)) {
+            tables.forEach(table -> new HandLogReader(table).replay(replayed));
+        }
+        assertSameStats(played, replayed);
+        assertEquals(0, simulator.auditHandLogs());
+    }
+
+    @Test
+    void spotsPastAByteAreLogged() {
+        Rules rules = rules();
+        BlackJack table = new BlackJack(Simulator.BANKROLL, new FlatBetStrategy(Simulator.UNIT),
+                new BasicStrategy(rules), new Shoe(120, 75, new ShuffleEngine(new SeededRandom(8))));
+        table.getSeats().get(0).setSpots(300);
+        table.setRules(rules);
+
+        try (HandLogWriter writer = new HandLogWriter(directory, 1000)) {
+            table.setHandLog(writer);
+            table.playRound();
+        }
+
+        boolean[] logged = new boolean[300];
+        new HandLogReader(directory).forEach(record -> logged[record.getSpot()] = true);
+        for (int spot = 0; spot < logged.length; spot++) {
+            assertTrue(logged[spot], "spot " + spot);
+        }
+    }
+
+    @Test
+    void segmentMustFitInABuffer() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HandLogWriter(directory, HandLogWriter.MAX_SEGMENT_RECORDS + 1));
+        assertThrows(IllegalArgumentException.class, () -> new HandLogWriter(directory, 0));
+    }
+}
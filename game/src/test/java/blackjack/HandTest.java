@@ -0,0 +1,106 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandTest {
+
+    /**
+     * One card type of every value, the ace first
+     */
+    private static final CardType[] VALUES = {CardType.ACE, CardType.TWO, CardType.THREE, CardType.FOUR,
+            CardType.FIVE, CardType.SIX, CardType.SEVEN, CardType.EIGHT, CardType.NINE, CardType.TEN};
+
+    /**
+     * The hand value as computed before the lookup table: every ace counted
+     * as 11, then adjustAce
+     */
+    private static int baselineValue(List<CardType> cards) {
+        int handValue = 0;
+        int aces = 0;
+        for (CardType card : cards) {
+            handValue += card.getValue();
+            if (card == CardType.ACE) {
+                aces++;
+            }
+        }
+        if (handValue > 21 && aces > 0) {
+            for (int i = 0; i < aces; i++) {
+                handValue -= 10;
+                if (handValue < 21) break;
+
+            }
+        }
+        return handValue;
+    }
+
+    private static boolean baselineBlackJack(List<CardType> cards) {
+        int handValue = 0;
+        for (CardType card : cards) {
+            handValue += card.getValue();
+        }
+        return cards.size() == 2 && handValue == 21;
+    }
+
+    private static void assertBaseline(List<CardType> cards, Hand hand) {
+        String name = cards.toString();
+        int value = baselineValue(cards);
+        assertEquals(value, hand.getHandValue(), name);
+        assertEquals(baselineBlackJack(cards), hand.isBlackJack(), name);
+        assertEquals(value > 21, hand.isBusted(), name);
+    }
+
+    /**
+     * Every combination of cards, in ascending order of value, with a hard
+     * total up to the largest one the table holds
+     */
+    private static int combinations(List<CardType> cards, int first, int hardTotal) {
+        PlayerHand hand = new PlayerHand();
+        for (CardType card : cards) {
+            hand.addCard(Card.of(Suit.HEARTS, card));
+        }
+        assertBaseline(cards, hand);
+        assertEquals(baselineValue(cards), Hand.valueOf(hardTotal, (int) cards.stream().filter(c -> c == CardType.ACE).count()));
+        if (cards.size() > 1) {
+            // A split moves the second card to the split hand
+            List<CardType> rest = new ArrayList<>(cards);
+            rest.remove(1);
+            hand.removeCard(1);
+            assertBaseline(rest, hand);
+        }
+
+        int count = 1;
+        for (int i = first; i < VALUES.length; i++) {
+            int hard = hardTotal + (VALUES[i] == CardType.ACE ? 1 : VALUES[i].getValue());
+            if (hard > Hand.MAX_HARD_TOTAL) {
+                break;
+            }
+            cards.add(VALUES[i]);
+            count += combinations(cards, i, hard);
+            cards.remove(cards.size() - 1);
+        }
+        return count;
+    }
+
+    @Test
+    void tableMatchesTheBaselineValue() {
+        int hands = combinations(new ArrayList<>(), 0, 0);
+        assertTrue(hands > 10000, "hands " + hands);
+    }
+
+    @Test
+    void aceQuirkIsKept() {
+        PlayerHand hand = new PlayerHand();
+        hand.addCard(Card.of(Suit.HEARTS, CardType.ACE));
+        hand.addCard(Card.of(Suit.SPADES, CardType.ACE));
+        hand.addCard(Card.of(Suit.CLUBS, CardType.NINE));
+        // 31, less one ace is 21 which is not below 21, less both is 11
+        assertEquals(11, hand.getHandValue());
+        assertEquals(11, Hand.computeValue(11, 2));
+    }
+}
@@ -0,0 +1,91 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RendererTest {
+
+    @TempDir
+    Path directory;
+
+    private static Rules rules() {
+        Rules rules = new Rules();
+        rules.setBlackJackPayout(3, 2);
+        rules.setDoubleDown(Rules.DoubleDown.ANY);
+        rules.setSurrender(true);
+        rules.setInsurance(true);
+        return rules;
+    }
+
+    private static BlackJack table(Renderer renderer) {
+        Rules rules = rules();
+        BlackJack table = new BlackJack(Simulator.BANKROLL, new FlatBetStrategy(Simulator.UNIT),
+                new BasicStrategy(rules), new Shoe(2, 75, new SeededRandom(9)));
+        table.getSeats().get(0).setSpots(2);
+        table.setRules(rules);
+        table.setRenderer(renderer);
+        return table;
+    }
+
+    @Test
+    void flushedBufferMatchesTheConsole() {
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        PrintStream systemOut = System.out;
+        Renderer consoleRenderer;
+        try {
+            System.setOut(new PrintStream(console, true, StandardCharsets.UTF_8));
+            consoleRenderer = Renderer.console();
+            BlackJack table = table(consoleRenderer);
+            for (int i = 0; i < 200; i++) {
+                table.playRound();
+            }
+        } finally {
+            System.setOut(systemOut);
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Renderer buffered = Renderer.buffered(buffer);
+        BlackJack table = table(buffered);
+        for (int i = 0; i < 200; i++) {
+            table.playRound();
+        }
+        // At most a buffer full is still held back
+        assertTrue(buffer.size() < console.size());
+        assertTrue(console.size() - buffer.size() <= Renderer.BUFFER_SIZE);
+
+        buffered.flush();
+        assertTrue(console.size() > Renderer.BUFFER_SIZE);
+        assertEquals(console.toString(StandardCharsets.UTF_8), buffer.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void simulatorRendersEveryTable() throws IOException {
+        Rules rules = rules();
+        Simulator simulator = new Simulator(() -> new FlatBetStrategy(Simulator.UNIT), () -> new BasicStrategy(rules));
+        simulator.setRules(rules);
+        simulator.setHandText(directory.resolve("hands"));
+        SimulationStats stats = simulator.run(2000, 4);
+
+        long tables;
+        try (var files = Files.list(directory.resolve("hands"))) {
+            tables = files.filter(file -> file.getFileName().toString().endsWith(".txt")).count();
+        }
+        assertEquals(1, tables);
+        String first = Files.readString(directory.resolve("hands").resolve("rounds-000000000000.txt"));
+        assertTrue(first.length() > Renderer.BUFFER_SIZE);
+
+        Simulator silent = new Simulator(() -> new FlatBetStrategy(Simulator.UNIT), () -> new BasicStrategy(rules));
+        silent.setRules(rules);
+        assertEquals(silent.run(2000, 4).toString(), stats.toString());
+    }
+}
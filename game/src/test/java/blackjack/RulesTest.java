@@ -0,0 +1,130 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import static blackjack.CardType.ACE;
+import static blackjack.CardType.EIGHT;
+import static blackjack.CardType.FIVE;
+import static blackjack.CardType.FOUR;
+import static blackjack.CardType.NINE;
+import static blackjack.CardType.SEVEN;
+import static blackjack.CardType.SIX;
+import static blackjack.CardType.TEN;
+import static blackjack.CardType.TWO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RulesTest {
+
+    private static final int CHIPS = 1000;
+
+    /**
+     * Play the given option on the first decision, stand afterwards
+     */
+    private static ActionStrategy firstOption(HandOptions option, boolean insure) {
+        return new ActionStrategy() {
+
+            private boolean asked;
+
+            @Override
+            public HandOptions chooseOption(PlayerHand hand, Card dealerUpCard, int chips) {
+                HandOptions chosen = asked ? HandOptions.STAND : option;
+                asked = true;
+                return chosen;
+            }
+
+            @Override
+            public boolean takeInsurance(PlayerHand hand, int chips) {
+                return insure;
+            }
+        };
+    }
+
+    /**
+     * Play a round of a single spot dealt from a stacked shoe, see SplitTest.play
+     *
+     * @return chips won by the player, after checking them against the ledger
+     */
+    private static int play(Rules rules, int bet, ActionStrategy strategy, CardType... cards) {
+        BlackJack table = new BlackJack(CHIPS, new FlatBetStrategy(bet), strategy, StackedShoe.of(cards));
+        table.setRules(rules);
+        int chips = table.playRound();
+        ChipLedger ledger = table.getPlayer().getLedger();
+        assertEquals(0, ledger.getReserved());
+        assertEquals(CHIPS + chips, ledger.getBalance());
+        return chips;
+    }
+
+    @Test
+    void dealerHitsSoft17OnlyWithH17() {
+        // 18 against A 6, the dealer draws a 4 to 21 if it hits soft 17
+        CardType[] cards = {TEN, ACE, EIGHT, SIX, FOUR};
+        ActionStrategy stand = firstOption(HandOptions.STAND, false);
+        assertEquals(10, play(new Rules(), 10, stand, cards));
+
+        Rules rules = new Rules();
+        rules.setDealerHitsSoft17(true);
+        assertEquals(-10, play(rules, 10, stand, cards));
+    }
+
+    @Test
+    void doubleTakesOneCardForTwiceTheBet() {
+        Rules rules = new Rules();
+        rules.setDoubleDown(Rules.DoubleDown.ANY);
+        // 11 against 10 7 draws a 10
+        assertEquals(20, play(rules, 10, firstOption(HandOptions.DOUBLE, false), SIX, TEN, FIVE, SEVEN, TEN));
+
+        // Only 10 and 11 may be doubled
+        rules.setDoubleDown(Rules.DoubleDown.TEN_ELEVEN);
+        RuleTables ruleTables = new RuleTables(rules);
+        assertFalse(ruleTables.allows(HandOptions.DOUBLE, hand(FOUR, FIVE)));
+        assertTrue(ruleTables.allows(HandOptions.DOUBLE, hand(FIVE, FIVE)));
+        assertFalse(ruleTables.allows(HandOptions.DOUBLE, hand(FOUR, FIVE, TWO)));
+    }
+
+    @Test
+    void surrenderLosesHalfTheBet() {
+        Rules rules = new Rules();
+        rules.setSurrender(true);
+        assertEquals(-5, play(rules, 10, firstOption(HandOptions.SURRENDER, false), TEN, TEN, SIX, NINE));
+        assertEquals(5, new RuleTables(rules).payout(RuleTables.SURRENDER, 10));
+    }
+
+    @Test
+    void insurancePaysTwoToOne() {
+        Rules rules = new Rules();
+        rules.setInsurance(true);
+        ActionStrategy insure = firstOption(HandOptions.STAND, true);
+        // 19 loses to a dealer BlackJack, the insurance of 5 wins 10
+        assertEquals(0, play(rules, 10, insure, TEN, ACE, NINE, TEN));
+        // 19 beats A 7, the insurance is lost
+        assertEquals(5, play(rules, 10, insure, TEN, ACE, NINE, SEVEN));
+        // Not offered by default
+        assertEquals(10, play(new Rules(), 10, insure, TEN, ACE, NINE, SEVEN));
+    }
+
+    @Test
+    void blackJackIsPaidByTheRules() {
+        // Payout, chips won on a bet of 10 and on a bet of 7, rounded down
+        int[][] payouts = {{1, 1, 10, 7}, {3, 2, 15, 10}, {6, 5, 12, 8}};
+        for (int[] payout : payouts) {
+            Rules rules = new Rules();
+            rules.setBlackJackPayout(payout[0], payout[1]);
+            RuleTables ruleTables = new RuleTables(rules);
+            ActionStrategy stand = firstOption(HandOptions.STAND, false);
+            assertEquals(payout[2], play(rules, 10, stand, ACE, TEN, TEN, SEVEN));
+            assertEquals(10 + payout[2], ruleTables.payout(RuleTables.BLACKJACK, 10));
+            assertEquals(payout[3], play(rules, 7, stand, ACE, TEN, TEN, SEVEN));
+            assertEquals(7 + payout[3], ruleTables.payout(RuleTables.BLACKJACK, 7));
+        }
+    }
+
+    private static PlayerHand hand(CardType... cards) {
+        PlayerHand hand = new PlayerHand();
+        for (CardType card : cards) {
+            hand.addCard(Card.of(Suit.HEARTS, card));
+        }
+        return hand;
+    }
+}
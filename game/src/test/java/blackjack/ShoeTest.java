@@ -0,0 +1,68 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShoeTest {
+
+    private static byte[] save(Shoe shoe) {
+        ByteBuffer buffer = ByteBuffer.allocate(shoe.snapshotSize());
+        shoe.writeTo(buffer);
+        return buffer.array();
+    }
+
+    /**
+     * Deal that many cards in a single round, and count every code dealt
+     */
+    private static int[] dealRound(Shoe shoe, int cards) {
+        int[] counts = new int[Shoe.DECK_SIZE];
+        for (int i = 0; i < cards; i++) {
+            counts[shoe.dealCode()]++;
+        }
+        return counts;
+    }
+
+    @Test
+    void roundPastTheLastCardOpensADeck() {
+        Shoe shoe = new Shoe(new SeededRandom(1));
+        shoe.shuffle();
+        int[] counts = dealRound(shoe, 2 * Shoe.DECK_SIZE + 10);
+        assertEquals(3, shoe.getDecks());
+        for (int count : counts) {
+            assertTrue(count >= 1 && count <= 3);
+        }
+        assertTrue(shoe.needsShuffle());
+
+        byte[] snapshot = save(shoe);
+        Shoe restored = new Shoe(new SeededRandom(2));
+        restored.readFrom(ByteBuffer.wrap(snapshot));
+        assertArrayEquals(snapshot, save(restored));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Shoe(2, 75, new SeededRandom(3)).checkSnapshot(ByteBuffer.wrap(snapshot)));
+
+        shoe.endRound();
+        shoe.shuffle();
+        assertEquals(1, shoe.getDecks());
+        assertEquals(Shoe.DECK_SIZE, shoe.remaining());
+    }
+
+    @Test
+    void continuousShuffleClosesTheOpenedDecks() {
+        Shoe shoe = Shoe.continuousShuffle(1, new ShuffleEngine(new SeededRandom(4)));
+        shoe.shuffle();
+        dealRound(shoe, Shoe.DECK_SIZE + 1);
+        assertEquals(2, shoe.getDecks());
+        shoe.endRound();
+        assertEquals(1, shoe.getDecks());
+        int[] counts = dealRound(shoe, Shoe.DECK_SIZE);
+        for (int count : counts) {
+            assertEquals(1, count);
+        }
+    }
+}
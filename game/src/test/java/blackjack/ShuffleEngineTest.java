@@ -0,0 +1,132 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShuffleEngineTest {
+
+    /**
+     * Counts the random longs drawn from a SeededRandom
+     */
+    private static class CountingGenerator implements RandomGenerator {
+
+        private final SeededRandom random = new SeededRandom(1);
+
+        private int draws;
+
+        @Override
+        public long nextLong() {
+            draws++;
+            return random.nextLong();
+        }
+    }
+
+    private static byte[] cards(int length) {
+        byte[] cards = new byte[length];
+        for (int i = 0; i < length; i++) {
+            cards[i] = (byte) (i % Shoe.DECK_SIZE);
+        }
+        return cards;
+    }
+
+    private static byte[] sorted(byte[] cards) {
+        byte[] copy = cards.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Chi-square statistic of the counts, each outcome being equally likely
+     */
+    private static double chiSquare(Map<String, Integer> counts, int outcomes, int trials) {
+        assertEquals(outcomes, counts.size());
+        double expected = (double) trials / outcomes;
+        double statistic = 0;
+        for (int count : counts.values()) {
+            statistic += (count - expected) * (count - expected) / expected;
+        }
+        return statistic;
+    }
+
+    @Test
+    void positionsAreDrawnInBatches() {
+        CountingGenerator generator = new CountingGenerator();
+        new ShuffleEngine(generator).shuffle(cards(8 * Shoe.DECK_SIZE), 0);
+        // 70 batches of 6, 3 or 2 positions, a batch is rarely drawn again
+        assertTrue(generator.draws >= 70 && generator.draws < 75, "draws " + generator.draws);
+
+        generator = new CountingGenerator();
+        new ShuffleEngine(generator).shuffle(cards(Shoe.DECK_SIZE), 0);
+        // 51 positions in batches of 6
+        assertTrue(generator.draws >= 9 && generator.draws < 12, "draws " + generator.draws);
+    }
+
+    @Test
+    void everyPermutationIsEquallyLikely() {
+        ShuffleEngine engine = new ShuffleEngine(new SeededRandom(2));
+        Map<String, Integer> counts = new HashMap<>();
+        int trials = 240000;
+        for (int i = 0; i < trials; i++) {
+            byte[] cards = {0, 1, 2, 3, 4};
+            engine.shuffle(cards, 1);
+            assertEquals(0, cards[0]);
+            counts.merge(Arrays.toString(cards), 1, Integer::sum);
+        }
+        // 23 degrees of freedom, exceeded with a probability of 0.001
+        assertTrue(chiSquare(counts, 24, trials) < 49.73);
+    }
+
+    @Test
+    void shuffledInCardsGoAnywhere() {
+        ShuffleEngine engine = new ShuffleEngine(new SeededRandom(3));
+        Map<String, Integer> counts = new HashMap<>();
+        int trials = 200000;
+        for (int i = 0; i < trials; i++) {
+            byte[] cards = {0, 1, 2, 3, 4};
+            engine.shuffleIn(cards, 2);
+            counts.merge(Arrays.toString(cards), 1, Integer::sum);
+        }
+        // The 2 dealt cards in any of 5 x 4 places, 19 degrees of freedom
+        assertTrue(chiSquare(counts, 20, trials) < 43.82);
+    }
+
+    @Test
+    void shuffleInKeepsTheCards() {
+        ShuffleEngine engine = new ShuffleEngine(new SeededRandom(4));
+        byte[] cards = cards(6 * Shoe.DECK_SIZE);
+        byte[] expected = sorted(cards);
+        for (int dealt = 0; dealt <= cards.length; dealt += 13) {
+            engine.shuffleIn(cards, dealt);
+            assertArrayEquals(expected, sorted(cards));
+        }
+        engine.shuffle(cards, 100);
+        assertArrayEquals(expected, sorted(cards));
+    }
+
+    @Test
+    void secureEngineIsSeededAgainWhileShufflingIn() {
+        ShuffleEngine engine = ShuffleEngine.create(ShuffleEngine.Algorithm.SECURE, 0);
+        byte[] cards = cards(Shoe.DECK_SIZE);
+        RandomGenerator first = engine.getGenerator();
+        engine.shuffleIn(cards, 30);
+        engine.shuffleIn(cards, 30);
+        assertSame(first, engine.getGenerator());
+        // 60 cards shuffled in, more than the shoe holds
+        engine.shuffleIn(cards, 30);
+        RandomGenerator second = engine.getGenerator();
+        assertNotSame(first, second);
+        engine.shuffle(cards, 0);
+        assertNotSame(second, engine.getGenerator());
+        assertArrayEquals(sorted(cards(Shoe.DECK_SIZE)), sorted(cards));
+    }
+}
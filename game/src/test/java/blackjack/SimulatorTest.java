@@ -0,0 +1,52 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SimulatorTest {
+
+    private static Simulator simulator(Rules rules) {
+        Simulator simulator = new Simulator(() -> new FlatBetStrategy(Simulator.UNIT), () -> new BasicStrategy(rules));
+        simulator.setRules(rules);
+        return simulator;
+    }
+
+    @Test
+    void manySpotsOnASingleDeck() {
+        Rules rules = new Rules();
+        rules.setMaxHands(1);
+        Simulator simulator = simulator(rules);
+        simulator.setSeats(5, 2);
+
+        SimulationStats stats = simulator.run(200000, 1);
+        assertEquals(200000, stats.getRounds());
+        assertEquals(2000000, stats.getHands());
+    }
+
+    @Test
+    void splittingSpotsOnASingleDeckContinuousShuffle() {
+        Rules rules = new Rules();
+        Simulator simulator = simulator(rules);
+        simulator.setShoe(1, 75, true);
+        simulator.setSeats(2, 1);
+
+        assertEquals(200000, simulator.run(200000, 1).getRounds());
+    }
+
+    @Test
+    void roundsThatCanUseUpTheShoeArePlayed() {
+        // Fully split, these spots hold more cards than the shoe
+        Simulator simulator = simulator(new Rules());
+        simulator.setSeats(7, 2);
+        assertEquals(200000, simulator.run(200000, 1).getRounds());
+
+        simulator.setShoe(2, 75, false);
+        simulator.setSeats(4, 3);
+        assertEquals(200000, simulator.run(200000, 1).getRounds());
+
+        simulator.setShoe(1, 75, true);
+        simulator.setSeats(7, 1);
+        assertEquals(200000, simulator.run(200000, 1).getRounds());
+    }
+}
@@ -0,0 +1,142 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SnapshotTest {
+
+    private static Rules rules() {
+        Rules rules = new Rules();
+        rules.setBlackJackPayout(3, 2);
+        rules.setDoubleDown(Rules.DoubleDown.ANY);
+        rules.setDoubleAfterSplit(true);
+        rules.setSurrender(true);
+        rules.setInsurance(true);
+        return rules;
+    }
+
+    /**
+     * A table of two seats playing two spots each, shuffled with the given seed
+     */
+    private static BlackJack table(long seed) {
+        Rules rules = rules();
+        BlackJack table = new BlackJack(Simulator.BANKROLL, new FlatBetStrategy(Simulator.UNIT),
+                new BasicStrategy(rules), new Shoe(2, 75, new SeededRandom(seed)));
+        table.getSeats().get(0).setSpots(2);
+        table.addSeat(Simulator.BANKROLL, new FlatBetStrategy(2 * Simulator.UNIT), new BasicStrategy(rules), 2);
+        table.setRules(rules);
+        return table;
+    }
+
+    private static long[] play(BlackJack table, int rounds) {
+        long[] chips = new long[rounds];
+        for (int i = 0; i < rounds; i++) {
+            chips[i] = table.playRound();
+        }
+        return chips;
+    }
+
+    @Test
+    void restoredTablePlaysTheSameRounds() {
+        BlackJack table = table(1);
+        play(table, 300);
+        byte[] snapshot = table.snapshot();
+        SimulationStats stats = new SimulationStats();
+        table.setStatistics(stats);
+        long[] chips = play(table, 500);
+
+        BlackJack restored = table(2);
+        play(restored, 7);
+        restored.restore(snapshot);
+        assertArrayEquals(snapshot, restored.snapshot());
+        SimulationStats restoredStats = new SimulationStats();
+        restored.setStatistics(restoredStats);
+
+        assertArrayEquals(chips, play(restored, 500));
+        assertEquals(stats.toString(), restoredStats.toString());
+        assertArrayEquals(table.snapshot(), restored.snapshot());
+    }
+
+    @Test
+    void restoredRoundPlaysOnFromTheSameHand() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BlackJack table = new BlackJack(new PrintStream(output, true, StandardCharsets.UTF_8), new SeededRandom(5), 0);
+        table.openTable();
+        table.beginRound(10);
+        while (table.getActiveHand() == null) {
+            table.finishRound();
+            table.beginRound(10);
+        }
+        byte[] snapshot = table.snapshot();
+        output.reset();
+        playOn(table);
+
+        ByteArrayOutputStream restoredOutput = new ByteArrayOutputStream();
+        BlackJack restored = new BlackJack(new PrintStream(restoredOutput, true, StandardCharsets.UTF_8),
+                new SeededRandom(6), 0);
+        restored.openTable();
+        restored.restore(snapshot);
+        assertNotNull(restored.getActiveHand());
+        restoredOutput.reset();
+        playOn(restored);
+
+        assertEquals(output.toString(StandardCharsets.UTF_8), restoredOutput.toString(StandardCharsets.UTF_8));
+        assertArrayEquals(table.snapshot(), restored.snapshot());
+    }
+
+    @Test
+    void snapshotThatDoesNotFitLeavesTheTable() {
+        BlackJack table = table(3);
+        play(table, 50);
+        byte[] before = table.snapshot();
+
+        BlackJack other = new BlackJack(Simulator.BANKROLL, new FlatBetStrategy(Simulator.UNIT),
+                new BasicStrategy(rules()), new Shoe(6, 75, new SeededRandom(4)));
+        other.addSeat(Simulator.BANKROLL, new FlatBetStrategy(Simulator.UNIT), new BasicStrategy(rules()), 1);
+        other.setRules(rules());
+        play(other, 50);
+        assertThrows(IllegalArgumentException.class, () -> table.restore(other.snapshot()));
+        byte[] truncated = Arrays.copyOf(before, before.length - 1);
+        assertThrows(BufferUnderflowException.class, () -> table.restore(truncated));
+        assertArrayEquals(before, table.snapshot());
+    }
+
+    @Test
+    void sharedBankrollIsNotRestored() {
+        BlackJack table = table(5);
+        table.addSeat(new ChipLedger(Simulator.BANKROLL), new FlatBetStrategy(Simulator.UNIT), new BasicStrategy(rules()), 1);
+        play(table, 10);
+        byte[] snapshot = table.snapshot();
+        play(table, 10);
+        byte[] before = table.snapshot();
+
+        assertThrows(IllegalStateException.class, () -> table.restore(snapshot));
+        assertThrows(IllegalStateException.class, () -> table.getSeats().get(2).getPlayer().setChips(0));
+        assertArrayEquals(before, table.snapshot());
+    }
+
+    /**
+     * Hit below 17 and finish the round, then play a few more rounds
+     */
+    private static void playOn(BlackJack table) {
+        for (int round = 0; round < 20; round++) {
+            if (round > 0) {
+                table.beginRound(10);
+            }
+            while (table.getActiveHand() != null) {
+                table.applyOption(table.getActiveHand().getHandValue() < 17 ? HandOptions.HIT : HandOptions.STAND);
+            }
+            table.finishRound();
+        }
+    }
+}
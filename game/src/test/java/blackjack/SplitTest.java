@@ -0,0 +1,126 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import static blackjack.CardType.ACE;
+import static blackjack.CardType.EIGHT;
+import static blackjack.CardType.FIVE;
+import static blackjack.CardType.NINE;
+import static blackjack.CardType.SEVEN;
+import static blackjack.CardType.SIX;
+import static blackjack.CardType.TEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SplitTest {
+
+    private static final int CHIPS = 1000;
+
+    private static final int BET = 10;
+
+    /**
+     * Split whenever the hand can be split, stand otherwise
+     */
+    private static final ActionStrategy SPLIT_OR_STAND =
+            (hand, dealerUpCard, chips) -> hand.canSplit() ? HandOptions.SPLIT : HandOptions.STAND;
+
+    /**
+     * Play a round of a single spot dealt from a stacked shoe: the player's
+     * first card, the dealer's face up card, the player's second card, the
+     * dealer's hole card and then the cards the round draws.
+     *
+     * @param stats collects the stats of the round
+     * @return the table after the round
+     */
+    private static BlackJack play(Rules rules, ActionStrategy strategy, SimulationStats stats, CardType... cards) {
+        BlackJack table = new BlackJack(CHIPS, new FlatBetStrategy(BET), strategy, StackedShoe.of(cards));
+        table.setRules(rules);
+        table.setStatistics(stats);
+        table.playRound();
+        return table;
+    }
+
+    private static void assertChips(BlackJack table, int chips) {
+        ChipLedger ledger = table.getPlayer().getLedger();
+        assertEquals(0, ledger.getReserved());
+        assertEquals(CHIPS + chips, ledger.getBalance());
+    }
+
+    @Test
+    void pairIsResplitToFourHands() {
+        SimulationStats stats = new SimulationStats();
+        // 8 8 against 10 7, each split 8 drawing an 8 until the spot holds 4
+        // hands: 18, 18, 18 and a 16 which can't be split again
+        BlackJack table = play(new Rules(), SPLIT_OR_STAND, stats,
+                EIGHT, TEN, EIGHT, SEVEN, EIGHT, EIGHT, EIGHT, TEN, TEN, TEN);
+        assertEquals(3, stats.splits);
+        assertEquals(4, stats.hands);
+        assertEquals(3, stats.wins);
+        assertEquals(1, stats.losses);
+        assertChips(table, 2 * BET);
+    }
+
+    @Test
+    void splitHandsAreLimitedByTheRules() {
+        Rules rules = new Rules();
+        rules.setMaxHands(2);
+        SimulationStats stats = new SimulationStats();
+        // The split hands are pairs again, but only 2 hands are allowed
+        BlackJack table = play(rules, SPLIT_OR_STAND, stats,
+                EIGHT, TEN, EIGHT, SEVEN, EIGHT, EIGHT);
+        assertEquals(1, stats.splits);
+        assertEquals(2, stats.losses);
+        assertChips(table, -2 * BET);
+    }
+
+    @Test
+    void acesAreOnlyResplitIfTheRulesAllow() {
+        SimulationStats stats = new SimulationStats();
+        // A A against 10 7, the first split ace draws another ace: soft 12
+        // and 16 stand and lose
+        BlackJack table = play(new Rules(), SPLIT_OR_STAND, stats,
+                ACE, TEN, ACE, SEVEN, ACE, FIVE, NINE, NINE);
+        assertEquals(1, stats.splits);
+        assertChips(table, -2 * BET);
+
+        Rules rules = new Rules();
+        rules.setResplitAces(true);
+        // Resplit: 20, 20 and 16
+        stats = new SimulationStats();
+        table = play(rules, SPLIT_OR_STAND, stats,
+                ACE, TEN, ACE, SEVEN, ACE, FIVE, NINE, NINE);
+        assertEquals(2, stats.splits);
+        assertEquals(2, stats.wins);
+        assertChips(table, BET);
+    }
+
+    @Test
+    void splitAcesGetASingleCard() {
+        Rules rules = new Rules();
+        rules.setHitSplitAces(false);
+        int[] asked = new int[1];
+        ActionStrategy strategy = (hand, dealerUpCard, chips) -> {
+            asked[0]++;
+            return hand.canSplit() ? HandOptions.SPLIT : HandOptions.HIT;
+        };
+        SimulationStats stats = new SimulationStats();
+        // A 5 and A 6 stand on their single card against 17: a loss and a tie
+        BlackJack table = play(rules, strategy, stats,
+                ACE, TEN, ACE, SEVEN, FIVE, SIX);
+        assertEquals(1, asked[0]);
+        assertEquals(1, stats.losses);
+        assertEquals(1, stats.ties);
+        assertChips(table, -BET);
+    }
+
+    @Test
+    void splitAceAndTenIsNoBlackJack() {
+        Rules rules = new Rules();
+        rules.setBlackJackPayout(3, 2);
+        SimulationStats stats = new SimulationStats();
+        // Two split hands of 21 are paid 1:1, not 3:2
+        BlackJack table = play(rules, SPLIT_OR_STAND, stats,
+                ACE, NINE, ACE, EIGHT, TEN, TEN);
+        assertEquals(2, stats.wins);
+        assertChips(table, 2 * BET);
+    }
+}
@@ -0,0 +1,42 @@
+package blackjack;
+
+/**
+ * Creates a shoe which deals the given cards first after every shuffle, so
+ * a test can play a round of known hands. The rest of the shoe is shuffled
+ * as usual and the shoe still holds every card of its decks.
+ */
+final class StackedShoe {
+
+    private StackedShoe() {
+    }
+
+    /**
+     * @param cardTypes cards to deal first, in the order they are dealt, see
+     *                  BlackJack.distributeCards. The suits are taken in turn
+     *                  so six decks hold 24 cards of each type.
+     * @return six deck shoe with no cut card to reach in a round
+     */
+    static Shoe of(CardType... cardTypes) {
+        Suit[] suits = Suit.values();
+        byte[] codes = new byte[cardTypes.length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (byte) Shoe.code(suits[i % suits.length], cardTypes[i]);
+        }
+        ShuffleEngine engine = new ShuffleEngine(new SeededRandom(1)) {
+            @Override
+            void shuffle(byte[] cards, int from) {
+                super.shuffle(cards, from);
+                // Swap every stacked card into its place
+                for (int i = 0; i < codes.length; i++) {
+                    int j = from + i;
+                    while (cards[j] != codes[i]) {
+                        j++;
+                    }
+                    cards[j] = cards[from + i];
+                    cards[from + i] = codes[i];
+                }
+            }
+        };
+        return new Shoe(6, 100, engine);
+    }
+}
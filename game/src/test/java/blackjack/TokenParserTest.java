@@ -0,0 +1,77 @@
+package blackjack;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenParserTest {
+
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static TokenParser parse(String text) {
+        TokenParser token = new TokenParser();
+        assertTrue(token.next(bytes(text + "\n")));
+        return token;
+    }
+
+    @Test
+    void tokenSplitAcrossReads() {
+        TokenParser token = new TokenParser();
+        assertFalse(token.next(bytes("  1")));
+        assertFalse(token.next(bytes("2")));
+        ByteBuffer in = bytes("5\r\nY");
+        assertTrue(token.next(in));
+        assertTrue(token.isInt());
+        assertEquals(125, token.intValue());
+        assertEquals(3, token.length());
+
+        assertFalse(token.next(in));
+        in = bytes("es\n");
+        assertTrue(token.next(in));
+        assertFalse(token.isInt());
+        assertEquals('Y', token.firstChar());
+        assertEquals(3, token.length());
+        assertFalse(token.next(in));
+    }
+
+    @Test
+    void severalTokensInOneRead() {
+        TokenParser token = new TokenParser();
+        ByteBuffer in = bytes("10 2\t-3\n");
+        assertTrue(token.next(in));
+        assertEquals(10, token.intValue());
+        assertTrue(token.next(in));
+        assertEquals(2, token.intValue());
+        assertTrue(token.next(in));
+        assertEquals(-3, token.intValue());
+        assertFalse(token.next(in));
+    }
+
+    @Test
+    void signWithoutDigits() {
+        assertFalse(parse("-").isInt());
+        assertFalse(parse("+").isInt());
+        assertFalse(parse("+-5").isInt());
+        assertFalse(parse("5-").isInt());
+        assertTrue(parse("+7").isInt());
+        assertEquals(7, parse("+7").intValue());
+    }
+
+    @Test
+    void intOverflow() {
+        assertTrue(parse("2147483647").isInt());
+        assertEquals(Integer.MAX_VALUE, parse("2147483647").intValue());
+        assertFalse(parse("2147483648").isInt());
+        assertTrue(parse("-2147483648").isInt());
+        assertEquals(Integer.MIN_VALUE, parse("-2147483648").intValue());
+        assertFalse(parse("-2147483649").isInt());
+        assertFalse(parse("99999999999999999999999").isInt());
+    }
+}